@@ -3,6 +3,8 @@ package com.github.onlycrab.argParser.arguments;
 import com.github.onlycrab.argParser.arguments.converter.ValueConverter;
 import com.github.onlycrab.argParser.arguments.dependencies.Rule;
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
+import com.github.onlycrab.argParser.common.Utf8Slice;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -17,9 +19,17 @@ import org.jetbrains.annotations.Nullable;
  * value for the argument. If the argument value is empty, you can assign it the
  * default value by calling {@link Argument#setValueToDefaultIfEmpty()}.</p>
  *
+ * <p>A <b>multi-valued</b> argument ({@link Argument#setMultiValued(boolean)}) keeps the value of each occurrence
+ * instead of overwriting it: {@code -I a -I b -I c} gives the values {@code {"a", "b", "c"}}. The values are
+ * available by {@link Argument#getValues()} and as typed arrays by {@link Argument#getValueConverter()};
+ * {@link Argument#getValue()} returns the last value.</p>
+ *
  * <p>Each argument has descriptive fields {@code description} and {@code descriptionDetailed}.
  * These fields are used only when displaying help information.</p>
  *
+ * <p>Names, restrictions and descriptive fields are kept in an immutable {@link ArgumentDescriptor} that can be
+ * shared by several arguments; the argument itself holds only the results of parsing.</p>
+ *
  * <p>The argument can be in 2 states: <b>declared</b> and <b>not declared</b>
  * (by default). The argument becomes declared when its name is passed to the
  * parser {@link ArgumentParser#parse(ArgumentStorage, String[])} (it doesn't matter with or without value).</p>
@@ -50,56 +60,44 @@ import org.jetbrains.annotations.Nullable;
 @SuppressWarnings({"unused", "WeakerAccess"})
 public class Argument {
     /**
-     * Short argument name
-     */
-    private String shortName;
-
-    /**
-     * Long argument name
-     */
-    private String longName;
-
-    /**
-     * Default argument value. This value is assigned to the argument if the argument value
-     * is {@code null} after parsing.
-     */
-    private String valueDefault;
-
-    /**
-     * Argument required be filled flag
+     * Argument metadata, shared with copies of the argument
      */
-    private boolean isRequiredBeFilled;
+    private ArgumentDescriptor descriptor;
 
     /**
-     * Argument required be declared flag
+     * Argument value. Can be a view of the parsed input (f.e. {@link Utf8Slice}) that is converted to string
+     * when the value is read for the first time.
      */
-    private boolean isRequiredBeDeclared;
+    private CharSequence value;
 
     /**
-     * Argument text parameters info (used only for printing help info)
+     * Values of all occurrences of a multi-valued argument, {@code null} until the first value is assigned
      */
-    private String parameters;
+    private ValueList values;
 
     /**
-     * Argument text description (used only for printing help info)
+     * Source of the argument value, {@code null} if the value is not assigned
      */
-    private String description;
+    private ValueSource valueSource;
 
     /**
-     * Argument detailed description (used only for printing help info)
+     * Argument declaration indicator.
+     * {@code true} if the name of this argument was passed during parsing, else - {@code false}.
      */
-    private String descriptionDetailed;
+    private boolean isDeclared;
 
     /**
-     * Argument value
+     * Generation counter of parsing results and modification counter of metadata. Replaced by the storage
+     * counter when the argument is added to the storage, so that the storage can detect metadata changes
+     * (f.e. to drop the cached help text).
      */
-    private String value;
+    private ParseEpoch epoch;
 
     /**
-     * Argument declaration indicator.
-     * {@code true} if the name of this argument was passed during parsing, else - {@code false}.
+     * Generation in which {@link Argument#value} and {@link Argument#isDeclared} were assigned. If it differs
+     * from the current generation of the {@link Argument#epoch}, the argument reads as not declared and not filled.
      */
-    private boolean isDeclared;
+    private long generation;
 
     /**
      * Create new argument.
@@ -136,24 +134,39 @@ public class Argument {
             if (longName.trim().length() == 0) throw new ArgumentException("Parameter <longName> is empty.");
         }
 
-        this.shortName = shortName;
-        this.longName = longName;
-        this.valueDefault = valueDefault;
-        this.isRequiredBeFilled = isRequiredBeFilled;
-        this.isRequiredBeDeclared = isRequiredBeDeclared;
-        this.parameters = parameters;
-        if (description != null) {
-            this.description = description;
-        } else {
-            this.description = "";
+        if (description == null) {
+            description = "";
         }
-        if (descriptionDetailed != null) {
-            this.descriptionDetailed = descriptionDetailed;
-        } else {
-            this.descriptionDetailed = this.description;
+        if (descriptionDetailed == null) {
+            descriptionDetailed = description;
         }
+        descriptor = new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, description, descriptionDetailed);
         isDeclared = false;
         value = null;
+        epoch = new ParseEpoch();
+    }
+
+    /**
+     * Create new argument with the shared metadata.
+     *
+     * @param descriptor argument metadata
+     * @throws IllegalArgumentException if {@code descriptor} is {@code null}
+     */
+    public Argument(ArgumentDescriptor descriptor) {
+        if (descriptor == null) throw new IllegalArgumentException("Parameter <descriptor> is null.");
+        this.descriptor = descriptor;
+        epoch = new ParseEpoch();
+    }
+
+    /**
+     * Returns argument metadata. The descriptor is immutable, changing the metadata of the argument replaces it.
+     *
+     * @return argument metadata
+     */
+    @NotNull
+    public ArgumentDescriptor getDescriptor() {
+        return descriptor;
     }
 
     /**
@@ -162,7 +175,7 @@ public class Argument {
      * @return argument short name
      */
     public String getShortName() {
-        return shortName;
+        return descriptor.getShortName();
     }
 
     /**
@@ -172,7 +185,7 @@ public class Argument {
      */
     @Nullable
     public String getLongName() {
-        return longName;
+        return descriptor.getLongName();
     }
 
     /**
@@ -181,10 +194,10 @@ public class Argument {
      * @return argument name
      */
     public String getName() {
-        if (longName != null) {
-            return String.format("<%s(%s)>", shortName, longName);
+        if (descriptor.getLongName() != null) {
+            return String.format("<%s(%s)>", descriptor.getShortName(), descriptor.getLongName());
         } else {
-            return String.format("<%s>", shortName);
+            return String.format("<%s>", descriptor.getShortName());
         }
     }
 
@@ -195,11 +208,7 @@ public class Argument {
      */
     @NotNull
     public String getParameters() {
-        if (parameters != null) {
-            return parameters;
-        } else {
-            return "";
-        }
+        return descriptor.getParameters();
     }
 
     /**
@@ -209,7 +218,8 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setParameters(@Nullable String value) {
-        parameters = value;
+        descriptor = descriptor.withParameters(value);
+        modified();
         return this;
     }
 
@@ -220,11 +230,7 @@ public class Argument {
      */
     @NotNull
     public String getDescription() {
-        if (description != null) {
-            return description;
-        } else {
-            return "";
-        }
+        return descriptor.getDescription();
     }
 
     /**
@@ -234,7 +240,8 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setDescription(@Nullable String value) {
-        description = value;
+        descriptor = descriptor.withDescription(value);
+        modified();
         return this;
     }
 
@@ -245,11 +252,7 @@ public class Argument {
      */
     @NotNull
     public String getDescriptionDetailed() {
-        if (descriptionDetailed != null) {
-            return descriptionDetailed;
-        } else {
-            return getDescription();
-        }
+        return descriptor.getDescriptionDetailed();
     }
 
     /**
@@ -259,14 +262,84 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setDescriptionDetailed(@Nullable String value) {
-        if (value != null) {
-            descriptionDetailed = value;
-        } else {
-            descriptionDetailed = "";
-        }
+        descriptor = descriptor.withDescriptionDetailed(value != null ? value : "");
+        modified();
         return this;
     }
 
+    /**
+     * Report the metadata change to the storage the argument belongs to.
+     */
+    private void modified() {
+        epoch.modified();
+    }
+
+    /**
+     * Bind argument to the generation counter of the storage. The current value and declaration are kept.
+     *
+     * @param target generation counter of the storage
+     */
+    void attach(ParseEpoch target) {
+        if (target == epoch) {
+            return;
+        }
+        boolean isCurrent = isCurrent();
+        epoch = target;
+        generation = isCurrent ? target.get() : target.get() - 1;
+    }
+
+    /**
+     * Is value and declaration assigned in the current generation.
+     *
+     * @return {@code true} if value and declaration are not stale
+     */
+    private boolean isCurrent() {
+        return generation == epoch.get();
+    }
+
+    /**
+     * Reset stale value and declaration and stamp them with the current generation.
+     */
+    private void refresh() {
+        if (!isCurrent()) {
+            value = null;
+            valueSource = null;
+            if (values != null) {
+                values.clear();
+            }
+            isDeclared = false;
+            generation = epoch.get();
+        }
+    }
+
+    /**
+     * Returns argument value of the current generation.
+     *
+     * @return argument value, {@code null} if the value is not assigned or stale
+     */
+    @Nullable
+    private String currentValue() {
+        if (!isCurrent() || value == null) {
+            return null;
+        } else if (!(value instanceof String)) {
+            value = value.toString();
+        }
+        return (String) value;
+    }
+
+    /**
+     * Is value empty. {@link Utf8Slice} is not decoded.
+     *
+     * @param value value to check
+     * @return {@code true} if the value has no characters
+     */
+    private static boolean isEmpty(CharSequence value) {
+        if (value instanceof Utf8Slice) {
+            return ((Utf8Slice) value).isEmpty();
+        }
+        return value.length() == 0;
+    }
+
     /**
      * Returns argument value. If value is {@code null} - returns empty string.
      *
@@ -274,6 +347,7 @@ public class Argument {
      */
     @NotNull
     public String getValue() {
+        String value = currentValue();
         if (value != null) {
             return value;
         } else {
@@ -287,12 +361,145 @@ public class Argument {
      * @param value argument value
      */
     protected void setValue(String value) {
-        this.value = value;
+        setValueSlice(value);
+    }
+
+    /**
+     * Set argument value that is converted to string lazily. If {@code value} is not {@code null}, also sets
+     * {@code declared} to {@code true}.
+     *
+     * @param value argument value
+     */
+    void setValueSlice(CharSequence value) {
+        setLayeredValue(value, ValueSource.COMMAND_LINE);
         if (value != null) {
             setDeclared(true);
         }
     }
 
+    /**
+     * Set argument value that is converted to string lazily and save its source. The argument is not declared:
+     * only the command line declares arguments. Values of a multi-valued argument from another source are replaced.
+     *
+     * @param value  argument value
+     * @param source source of the value
+     * @see ValueLayers
+     */
+    void setLayeredValue(CharSequence value, ValueSource source) {
+        refresh();
+        this.value = value;
+        if (value != null) {
+            if (descriptor.isMultiValued()) {
+                if (values == null) {
+                    values = new ValueList();
+                } else if (valueSource != source) {
+                    values.clear();
+                }
+                values.add(value);
+            }
+            valueSource = source;
+        }
+    }
+
+    /**
+     * Returns source of the argument value.
+     *
+     * @return source of the argument value, {@link ValueSource#COMMAND_LINE} if the argument is declared without value,
+     * {@code null} if the value is not assigned
+     */
+    @Nullable
+    public ValueSource getValueSource() {
+        if (!isCurrent()) {
+            return null;
+        } else if (value == null) {
+            //An argument declared without value
+            return isDeclared ? ValueSource.COMMAND_LINE : null;
+        }
+        return valueSource;
+    }
+
+    /**
+     * Returns name of the environment variable bound to the argument.
+     *
+     * @return name of the environment variable, {@code null} if the argument is not bound
+     * @see ArgumentParser#parseEnvironment(ArgumentStorage)
+     */
+    @Nullable
+    public String getEnvironmentVariable() {
+        return descriptor.getEnvironmentVariable();
+    }
+
+    /**
+     * Bind the argument to the environment variable.
+     *
+     * @param name name of the environment variable; if {@code null} or empty - the argument is unbound
+     * @return a reference to this object
+     * @see ArgumentParser#parseEnvironment(ArgumentStorage)
+     */
+    public Argument setEnvironmentVariable(@Nullable String name) {
+        descriptor = descriptor.withEnvironmentVariable(name != null && name.length() > 0 ? name : null);
+        modified();
+        return this;
+    }
+
+    /**
+     * Is argument multi-valued.
+     *
+     * @return if argument keeps values of all occurrences - {@code true}, else - {@code false}
+     */
+    public boolean isMultiValued() {
+        return descriptor.isMultiValued();
+    }
+
+    /**
+     * Set is argument multi-valued. A multi-valued argument keeps the value of each occurrence
+     * instead of overwriting it.
+     *
+     * @param value is argument multi-valued
+     * @return a reference to this object
+     */
+    public Argument setMultiValued(boolean value) {
+        descriptor = descriptor.withMultiValued(value);
+        modified();
+        return this;
+    }
+
+    /**
+     * Returns values of all occurrences of the argument in the order of parsing. For an argument that is not
+     * multi-valued returns the single value, if it is assigned.
+     *
+     * @return argument values
+     */
+    @NotNull
+    public String[] getValues() {
+        if (!isCurrent()) {
+            return new String[0];
+        } else if (descriptor.isMultiValued() && values != null && values.size() > 0) {
+            return values.toArray();
+        }
+        String value = currentValue();
+        if (value != null) {
+            return new String[]{value};
+        } else {
+            return new String[0];
+        }
+    }
+
+    /**
+     * Returns the number of argument values.
+     *
+     * @return the number of argument values
+     * @see Argument#getValues()
+     */
+    public int getValueCount() {
+        if (!isCurrent()) {
+            return 0;
+        } else if (descriptor.isMultiValued() && values != null && values.size() > 0) {
+            return values.size();
+        }
+        return value != null ? 1 : 0;
+    }
+
     /**
      * Returns argument default value. Can be {@code null}.
      *
@@ -300,7 +507,7 @@ public class Argument {
      */
     @Nullable
     public String getValueDefault() {
-        return valueDefault;
+        return descriptor.getValueDefault();
     }
 
     /**
@@ -310,19 +517,24 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setValueDefault(@Nullable String valueDefault) {
-        this.valueDefault = valueDefault;
+        descriptor = descriptor.withValueDefault(valueDefault);
+        modified();
         return this;
     }
 
     /**
-     * Returns value converter object.
+     * Returns value converter object. The converter of a multi-valued argument converts the values
+     * of all occurrences to arrays without splitting them.
      *
      * @return value converter object
      * @see ValueConverter
      */
     @NotNull
     public ValueConverter getValueConverter() {
-        return new ValueConverter(value);
+        if (descriptor.isMultiValued()) {
+            return ValueConverter.ofValues(getValues());
+        }
+        return new ValueConverter(currentValue());
     }
 
     /**
@@ -338,7 +550,10 @@ public class Argument {
      */
     @NotNull
     public ValueConverter getValueConverter(String[] booleanTrueCases, String[] booleanFalseCases) {
-        return new ValueConverter(value, booleanTrueCases, booleanFalseCases);
+        if (descriptor.isMultiValued()) {
+            return ValueConverter.ofValues(getValues(), booleanTrueCases, booleanFalseCases);
+        }
+        return new ValueConverter(currentValue(), booleanTrueCases, booleanFalseCases);
     }
 
     /**
@@ -347,7 +562,7 @@ public class Argument {
      * @return if argument is required to be filled - {@code true}, else - {@code false}
      */
     public boolean isRequiredBeFilled() {
-        return isRequiredBeFilled;
+        return descriptor.isRequiredBeFilled();
     }
 
     /**
@@ -357,7 +572,8 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setRequiredBeFilled(boolean value) {
-        isRequiredBeFilled = value;
+        descriptor = descriptor.withRequiredBeFilled(value);
+        modified();
         return this;
     }
 
@@ -367,7 +583,7 @@ public class Argument {
      * @return if argument is required to be declared - {@code true}, else - {@code false}
      */
     public boolean isRequiredBeDeclared() {
-        return isRequiredBeDeclared;
+        return descriptor.isRequiredBeDeclared();
     }
 
     /**
@@ -377,7 +593,8 @@ public class Argument {
      * @return a reference to this object
      */
     public Argument setRequiredBeDeclared(boolean value) {
-        isRequiredBeDeclared = value;
+        descriptor = descriptor.withRequiredBeDeclared(value);
+        modified();
         return this;
     }
 
@@ -387,7 +604,7 @@ public class Argument {
      * @return if argument is declared - {@code true}, else - {@code false}
      */
     public boolean isDeclared() {
-        return isDeclared;
+        return isDeclared && isCurrent();
     }
 
     /**
@@ -398,6 +615,7 @@ public class Argument {
      * @return a reference to this object
      */
     protected Argument setDeclared(boolean value) {
+        refresh();
         isDeclared = value;
         return this;
     }
@@ -409,11 +627,18 @@ public class Argument {
      * If this argument is not declared - do nothing.
      */
     void setValueToDefaultIfEmpty() {
-        if (valueDefault != null && isDeclared) {
+        String valueDefault = descriptor.getValueDefault();
+        if (valueDefault != null && isDeclared()) {
             if (value == null) {
                 value = valueDefault;
-            } else if (value.length() == 0) {
+                valueSource = ValueSource.DEFAULT;
+            } else if (isEmpty(value)) {
                 value = valueDefault;
+                valueSource = ValueSource.DEFAULT;
+                //A single empty occurrence is replaced, other occurrences are kept
+                if (values != null && values.size() == 1) {
+                    values.clear();
+                }
             }
         }
     }
@@ -424,13 +649,23 @@ public class Argument {
      * @return {@code true} if {@code value} is not {@code null} and {@code value.length} is not 0
      */
     public boolean isFilled() {
-        if (value != null) {
-            return value.length() > 0;
+        if (isCurrent() && value != null) {
+            return !isEmpty(value);
         } else {
             return false;
         }
     }
 
+    /**
+     * Is argument specified: declared on the command line or filled from any source except its default value.
+     * Only specified arguments are checked by dependencies and conflicts.
+     *
+     * @return {@code true} if argument is declared or filled not by default
+     */
+    public boolean isSpecified() {
+        return isDeclared() || (isFilled() && valueSource != ValueSource.DEFAULT);
+    }
+
     /**
      * Returns {@code true} if this argument's key equals the specified key.
      *
@@ -441,35 +676,35 @@ public class Argument {
         if (obj == null) {
             return false;
         } else if (obj instanceof Argument) {
-            Argument another = (Argument) obj;
-            if (shortName.equals(another.shortName) || shortName.equals(another.longName)) {
-                return true;
-            } else if (longName != null || another.longName != null) {
-                if (longName != null) {
-                    if (longName.equals(another.shortName) || longName.equals(another.longName)) {
-                        return true;
-                    }
-                }
-                if (another.longName != null) {
-                    return another.longName.equals(shortName);
-                }
-            }
-            return false;
+            return descriptor.isKeyEquals(((Argument) obj).descriptor);
         } else if (obj instanceof String) {
             String s = (String) obj;
-            if (longName != null) {
-                return shortName.equals(s) || longName.equals(s);
+            if (descriptor.getLongName() != null) {
+                return descriptor.getShortName().equals(s) || descriptor.getLongName().equals(s);
             } else {
-                return shortName.equals(s);
+                return descriptor.getShortName().equals(s);
             }
         } else {
             return false;
         }
     }
 
+    /**
+     * Returns content fingerprint of the argument: metadata, value and declaration.
+     * Equal arguments have equal fingerprints.
+     *
+     * @return content fingerprint
+     * @see Argument#equals(Object)
+     */
+    @NotNull
+    public Fingerprint getFingerprint() {
+        return descriptor.getFingerprint().then(getValue()).then(isDeclared());
+    }
+
     /**
      * Absorb the argument {@code another}. All {@code another} fields (with the exception of those assigned as
      * a result of parsing: {@link Argument#value} and {@link Argument#isDeclared} will be assigned to the this argument.
+     * The metadata is not copied: this argument takes the descriptor of {@code another}.
      *
      * @param another argument from which the data will be absorbed
      * @return {@code true} if the operation was successful, otherwise returns {@code false}
@@ -480,20 +715,14 @@ public class Argument {
         } else if (!isKeyEquals(another)) {
             return false;
         }
-        shortName = another.shortName;
-        longName = another.longName;
-        valueDefault = another.valueDefault;
-        isRequiredBeDeclared = another.isRequiredBeDeclared;
-        isRequiredBeFilled = another.isRequiredBeFilled;
-        description = another.description;
-        descriptionDetailed = another.descriptionDetailed;
-        parameters = another.parameters;
+        descriptor = another.descriptor;
+        modified();
         return true;
     }
 
     @Override
     public int hashCode() {
-        return (shortName + (longName != null ? longName : "")).hashCode();
+        return descriptor.hashCode();
     }
 
     @Override
@@ -507,43 +736,12 @@ public class Argument {
         }
 
         Argument another = (Argument) obj;
-        if (!shortName.equals(another.shortName)) {
-            return false;
-        }
-        if (longName != null || another.longName != null) {
-            if (longName != null && another.longName != null) {
-                if (!longName.equals(another.longName)) {
-                    return false;
-                }
-            } else {
-                return false;
-            }
-        }
-        if ((valueDefault == null || another.valueDefault == null) && (valueDefault != null || another.valueDefault != null)) {
-            return false;
-        } else if (valueDefault != null) {
-            if (!valueDefault.equals(another.valueDefault)) {
-                return false;
-            }
-        }
-        if (isRequiredBeFilled != another.isRequiredBeFilled) {
-            return false;
-        }
-        if (isRequiredBeDeclared != another.isRequiredBeDeclared) {
-            return false;
-        }
-        if (!getParameters().equals(another.getParameters())) {
-            return false;
-        }
-        if (!getDescription().equals(another.getDescription())) {
-            return false;
-        }
-        if (!getDescriptionDetailed().equals(another.getDescriptionDetailed())) {
+        if (!descriptor.equals(another.descriptor)) {
             return false;
         }
         if (!getValue().equals(another.getValue())) {
             return false;
         }
-        return isDeclared == another.isDeclared;
+        return isDeclared() == another.isDeclared();
     }
 }
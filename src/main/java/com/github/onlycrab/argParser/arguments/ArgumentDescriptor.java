@@ -0,0 +1,399 @@
+package com.github.onlycrab.argParser.arguments;
+
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
+import com.github.onlycrab.argParser.arguments.index.SymbolTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable metadata of an argument: names, default value, restrictions and help texts.
+ *
+ * <p>The metadata is separated from the parsing results so that it can be shared: arguments of storages copied by
+ * {@link ArgumentStorage#copy()} refer to the same descriptors, and absorbing an argument takes its descriptor
+ * instead of copying each field. Changing the metadata of an argument replaces its descriptor with a changed
+ * copy, so other arguments that share the descriptor are not affected.</p>
+ *
+ * <p>The names of defined arguments are interned in the {@link SymbolTable}, so names are compared as integer IDs.
+ * The names of arguments created for undefined names while parsing (see {@link UnknownArgumentPolicy}) come from
+ * the input, so they are not interned to keep the table bounded; such names are compared as strings.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see Argument#getDescriptor()
+ */
+public final class ArgumentDescriptor {
+    private final String shortName;
+    private final String longName;
+    private final String valueDefault;
+    private final boolean isRequiredBeDeclared;
+    private final boolean isRequiredBeFilled;
+    private final String parameters;
+    private final String description;
+    private final String descriptionDetailed;
+    private final boolean isMultiValued;
+    private final String environmentVariable;
+    private final boolean isInterned;
+    private final int shortSymbol;
+    private final int longSymbol;
+    private final int hash;
+    private Fingerprint fingerprint;
+
+    /**
+     * Create new descriptor.
+     *
+     * @param shortName            argument short name
+     * @param longName             argument long name
+     * @param valueDefault         argument default value
+     * @param isRequiredBeDeclared is argument required be declared
+     * @param isRequiredBeFilled   is argument required be filled
+     * @param parameters           argument parameters info
+     * @param description          argument description
+     * @param descriptionDetailed  argument detailed description
+     * @param isMultiValued        is argument multi-valued
+     * @param environmentVariable  name of the environment variable bound to the argument
+     * @param isInterned           are the names interned in the {@link SymbolTable}
+     */
+    private ArgumentDescriptor(String shortName, String longName, String valueDefault, boolean isRequiredBeDeclared,
+                               boolean isRequiredBeFilled, String parameters, String description, String descriptionDetailed,
+                               boolean isMultiValued, String environmentVariable, boolean isInterned) {
+        this.shortName = shortName;
+        this.longName = longName;
+        this.valueDefault = valueDefault;
+        this.isRequiredBeDeclared = isRequiredBeDeclared;
+        this.isRequiredBeFilled = isRequiredBeFilled;
+        this.parameters = parameters;
+        this.description = description;
+        this.descriptionDetailed = descriptionDetailed;
+        this.isMultiValued = isMultiValued;
+        this.environmentVariable = environmentVariable;
+        this.isInterned = isInterned;
+        shortSymbol = isInterned ? SymbolTable.intern(shortName) : SymbolTable.NONE;
+        longSymbol = isInterned ? SymbolTable.intern(longName) : SymbolTable.NONE;
+        //Interned and not interned descriptors with the same names are equal, so the hash is taken from the strings
+        hash = 31 * shortName.hashCode() + (longName != null ? longName.hashCode() : 0);
+    }
+
+    /**
+     * Create new descriptor of a single-valued argument that is not bound to an environment variable.
+     *
+     * @param shortName            argument short name
+     * @param longName             argument long name
+     * @param valueDefault         argument default value
+     * @param isRequiredBeDeclared is argument required be declared
+     * @param isRequiredBeFilled   is argument required be filled
+     * @param parameters           argument parameters info
+     * @param description          argument description
+     * @param descriptionDetailed  argument detailed description
+     */
+    ArgumentDescriptor(String shortName, String longName, String valueDefault, boolean isRequiredBeDeclared,
+                       boolean isRequiredBeFilled, String parameters, String description, String descriptionDetailed) {
+        this(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled, parameters, description,
+                descriptionDetailed, false, null, true);
+    }
+
+    /**
+     * Create new descriptor of an argument created for an undefined name while parsing.
+     * The name is not interned in the {@link SymbolTable}.
+     *
+     * @param name undefined argument name
+     * @return new descriptor
+     */
+    static ArgumentDescriptor undefined(String name) {
+        return new ArgumentDescriptor(name, null, null, false, false, null, "", "", false, null, false);
+    }
+
+    /**
+     * Returns argument short name.
+     *
+     * @return argument short name
+     */
+    public String getShortName() {
+        return shortName;
+    }
+
+    /**
+     * Are the names interned in the {@link SymbolTable}.
+     *
+     * @return {@code true} if the names have IDs, {@code false} for arguments created for undefined names
+     */
+    boolean isInterned() {
+        return isInterned;
+    }
+
+    /**
+     * Returns ID of the short name in the {@link SymbolTable}.
+     *
+     * @return ID of the short name, {@link SymbolTable#NONE} if the names are not interned
+     */
+    int getShortSymbol() {
+        return shortSymbol;
+    }
+
+    /**
+     * Returns ID of the long name in the {@link SymbolTable}.
+     *
+     * @return ID of the long name, {@link SymbolTable#NONE} if the long name is not set or the names are not interned
+     */
+    int getLongSymbol() {
+        return longSymbol;
+    }
+
+    /**
+     * Is any name of this descriptor equal to any name of {@code another}.
+     *
+     * @param another descriptor to check
+     * @return {@code true} if the descriptors have a common name
+     */
+    boolean isKeyEquals(ArgumentDescriptor another) {
+        if (!isInterned || !another.isInterned) {
+            if (shortName.equals(another.shortName) || shortName.equals(another.longName)) {
+                return true;
+            }
+            return longName != null && (longName.equals(another.shortName) || longName.equals(another.longName));
+        }
+        if (shortSymbol == another.shortSymbol || shortSymbol == another.longSymbol) {
+            return true;
+        }
+        return longSymbol != SymbolTable.NONE && (longSymbol == another.shortSymbol || longSymbol == another.longSymbol);
+    }
+
+    /**
+     * Returns argument long name.
+     *
+     * @return argument long name
+     */
+    @Nullable
+    public String getLongName() {
+        return longName;
+    }
+
+    /**
+     * Returns argument default value.
+     *
+     * @return argument default value
+     */
+    @Nullable
+    public String getValueDefault() {
+        return valueDefault;
+    }
+
+    /**
+     * Is argument required to be declared.
+     *
+     * @return if argument is required to be declared - {@code true}, else - {@code false}
+     */
+    public boolean isRequiredBeDeclared() {
+        return isRequiredBeDeclared;
+    }
+
+    /**
+     * Is argument required to be filled.
+     *
+     * @return if argument is required to be filled - {@code true}, else - {@code false}
+     */
+    public boolean isRequiredBeFilled() {
+        return isRequiredBeFilled;
+    }
+
+    /**
+     * Returns argument parameters info.
+     *
+     * @return argument parameters info
+     */
+    @NotNull
+    public String getParameters() {
+        return parameters != null ? parameters : "";
+    }
+
+    /**
+     * Returns argument description.
+     *
+     * @return argument description
+     */
+    @NotNull
+    public String getDescription() {
+        return description != null ? description : "";
+    }
+
+    /**
+     * Returns argument detailed description.
+     *
+     * @return argument detailed description
+     */
+    @NotNull
+    public String getDescriptionDetailed() {
+        return descriptionDetailed != null ? descriptionDetailed : getDescription();
+    }
+
+    /**
+     * Is argument multi-valued.
+     *
+     * @return if argument keeps values of all occurrences - {@code true}, else - {@code false}
+     */
+    public boolean isMultiValued() {
+        return isMultiValued;
+    }
+
+    /**
+     * Returns name of the environment variable bound to the argument.
+     *
+     * @return name of the environment variable, {@code null} if the argument is not bound
+     */
+    @Nullable
+    public String getEnvironmentVariable() {
+        return environmentVariable;
+    }
+
+    /**
+     * Returns content fingerprint of the descriptor. Equal descriptors have equal fingerprints.
+     * The fingerprint is computed once.
+     *
+     * @return content fingerprint
+     */
+    @NotNull
+    public Fingerprint getFingerprint() {
+        Fingerprint result = fingerprint;
+        if (result == null) {
+            result = Fingerprint.EMPTY.then(shortName).then(longName).then(valueDefault)
+                    .then(isRequiredBeDeclared).then(isRequiredBeFilled).then(isMultiValued).then(environmentVariable)
+                    .then(getParameters()).then(getDescription()).then(getDescriptionDetailed());
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed default value.
+     *
+     * @param value new default value
+     * @return changed copy
+     */
+    ArgumentDescriptor withValueDefault(String value) {
+        return new ArgumentDescriptor(shortName, longName, value, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, description, descriptionDetailed, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed condition of the mandatory declaration.
+     *
+     * @param value is argument required be declared
+     * @return changed copy
+     */
+    ArgumentDescriptor withRequiredBeDeclared(boolean value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, value, isRequiredBeFilled,
+                parameters, description, descriptionDetailed, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed condition of the mandatory filling.
+     *
+     * @param value is argument required be filled
+     * @return changed copy
+     */
+    ArgumentDescriptor withRequiredBeFilled(boolean value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, value,
+                parameters, description, descriptionDetailed, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed parameters info.
+     *
+     * @param value new parameters info
+     * @return changed copy
+     */
+    ArgumentDescriptor withParameters(String value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                value, description, descriptionDetailed, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed description.
+     *
+     * @param value new description
+     * @return changed copy
+     */
+    ArgumentDescriptor withDescription(String value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, value, descriptionDetailed, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed detailed description.
+     *
+     * @param value new detailed description
+     * @return changed copy
+     */
+    ArgumentDescriptor withDescriptionDetailed(String value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, description, value, isMultiValued, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed multi-valued flag.
+     *
+     * @param value is argument multi-valued
+     * @return changed copy
+     */
+    ArgumentDescriptor withMultiValued(boolean value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, description, descriptionDetailed, value, environmentVariable, isInterned);
+    }
+
+    /**
+     * Returns copy of this descriptor with the changed environment variable.
+     *
+     * @param value name of the environment variable
+     * @return changed copy
+     */
+    ArgumentDescriptor withEnvironmentVariable(String value) {
+        return new ArgumentDescriptor(shortName, longName, valueDefault, isRequiredBeDeclared, isRequiredBeFilled,
+                parameters, description, descriptionDetailed, isMultiValued, value, isInterned);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        } else if (this == obj) {
+            return true;
+        } else if (!(obj instanceof ArgumentDescriptor)) {
+            return false;
+        }
+
+        ArgumentDescriptor another = (ArgumentDescriptor) obj;
+        if (isInterned && another.isInterned) {
+            if (shortSymbol != another.shortSymbol || longSymbol != another.longSymbol) {
+                return false;
+            }
+        } else if (!shortName.equals(another.shortName) || (longName != null ? !longName.equals(another.longName) : another.longName != null)) {
+            return false;
+        }
+        if (valueDefault != null ? !valueDefault.equals(another.valueDefault) : another.valueDefault != null) {
+            return false;
+        }
+        if (isRequiredBeFilled != another.isRequiredBeFilled) {
+            return false;
+        }
+        if (isRequiredBeDeclared != another.isRequiredBeDeclared) {
+            return false;
+        }
+        if (isMultiValued != another.isMultiValued) {
+            return false;
+        }
+        if (environmentVariable != null ? !environmentVariable.equals(another.environmentVariable) : another.environmentVariable != null) {
+            return false;
+        }
+        if (!getParameters().equals(another.getParameters())) {
+            return false;
+        }
+        if (!getDescription().equals(another.getDescription())) {
+            return false;
+        }
+        return getDescriptionDetailed().equals(another.getDescriptionDetailed());
+    }
+}
@@ -1,7 +1,15 @@
 package com.github.onlycrab.argParser.arguments;
 
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
+import com.github.onlycrab.argParser.arguments.index.SymbolTable;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * An object that maps argument keys to argument objects and stores it as a list; cant contain duplicate keys;
@@ -13,10 +21,24 @@ import java.util.Collection;
  * - short and long names are unique for all arguments in map;<br>
  * - short name cant be equals to any long name in map, long name cant be equals to any short name in map.</p>
  *
+ * <p>Lookups by name use a hash index of name IDs (see {@link SymbolTable}) that is built on the first lookup
+ * and rebuilt after the list is modified. Names of arguments created for undefined names while parsing have no IDs
+ * and are indexed by strings.</p>
+ *
  * @author Roman Rynkovich
  * @version 1.0
  */
 public class ArgumentList extends ArrayList<Argument> {
+    /**
+     * Positions of arguments by short and long names, {@code null} if not built yet
+     */
+    private transient NameIndex<Integer> ordinals;
+
+    /**
+     * Value of {@link ArgumentList#modCount} for which the {@link ArgumentList#ordinals} were built
+     */
+    private transient int ordinalsModCount;
+
     /**
      * Returns {@code true} if this list contains an element with the specified key.
      *
@@ -26,6 +48,8 @@ public class ArgumentList extends ArrayList<Argument> {
     public boolean containsKey(Object obj) {
         if (obj == null) {
             return false;
+        } else if (obj instanceof String) {
+            return ordinalOf((String) obj) >= 0;
         }
         for (Argument arg : this) {
             if (arg.isKeyEquals(obj)) {
@@ -42,19 +66,35 @@ public class ArgumentList extends ArrayList<Argument> {
      * @return the argument by the specified key, or {@code null} if argument by key is not found
      */
     public Argument get(String key) {
+        int index = ordinalOf(key);
+        return index >= 0 ? get(index) : null;
+    }
+
+    /**
+     * Returns the position of the argument by the specified key, or -1 if argument by key is not found.
+     *
+     * @param key short or long argument name
+     * @return the position of the argument by the specified key, or -1 if argument by key is not found
+     */
+    public int ordinalOf(String key) {
         if (key == null) {
-            return null;
+            return -1;
         }
-        for (Argument arg : this) {
-            if (arg.isKeyEquals(key)) {
-                return arg;
+        if (ordinals == null || ordinalsModCount != modCount) {
+            NameIndex<Integer> built = new NameIndex<>(size());
+            for (int i = 0; i < size(); i++) {
+                built.put(get(i).getDescriptor(), i);
             }
+            ordinals = built;
+            ordinalsModCount = modCount;
         }
-        return null;
+        Integer index = ordinals.get(key);
+        return index != null ? index : -1;
     }
 
     @Override
     public Argument set(int index, Argument element) {
+        ordinals = null;
         if (get(index).isKeyEquals(element)) {
             return super.set(index, element);
         } else if (!containsKey(element)) {
@@ -71,6 +111,8 @@ public class ArgumentList extends ArrayList<Argument> {
         }
         for (Argument arg : this) {
             if (arg.isKeyEquals(argument)) {
+                //Absorbing can change the long name
+                ordinals = null;
                 return arg.absorb(argument);
             }
         }
@@ -84,19 +126,87 @@ public class ArgumentList extends ArrayList<Argument> {
         } else {
             Argument arg = get(index);
             if (arg.isKeyEquals(element)) {
+                ordinals = null;
                 arg.absorb(element);
             }
         }
     }
 
+    /**
+     * Add all arguments of the collection to the end of the list. Arguments whose short or long name is already
+     * in the list (or earlier in the collection) are absorbed, like in {@link ArgumentList#add(Argument)}.
+     *
+     * @param c arguments to add
+     * @return {@code true} if the list was changed
+     */
     @Override
     public boolean addAll(Collection<? extends Argument> c) {
-        return false;
+        return addAll(size(), c);
     }
 
+    /**
+     * Add all arguments of the collection to the list starting at the specified position. Arguments whose short
+     * or long name is already in the list (or earlier in the collection) are absorbed, like in
+     * {@link ArgumentList#add(Argument)}.
+     *
+     * <p>Names are matched by a hash index of name IDs that is built once per call, so adding {@code m} arguments
+     * to a list of {@code n} arguments takes {@code O(n + m)} instead of {@code O(n * m)}.</p>
+     *
+     * @param index position of the first added argument
+     * @param c     arguments to add
+     * @return {@code true} if the list was changed
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
     @Override
     public boolean addAll(int index, Collection<? extends Argument> c) {
-        return false;
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (c == null || c.isEmpty()) {
+            return false;
+        }
+        //Arguments by short and long names
+        NameIndex<Argument> names = new NameIndex<>(size() + c.size());
+        for (Argument arg : this) {
+            names.put(arg.getDescriptor(), arg);
+        }
+        List<Argument> added = new ArrayList<>(c.size());
+        boolean isModified = false;
+        for (Argument argument : c) {
+            if (argument == null) {
+                continue;
+            }
+            Argument arg = names.get(argument.getDescriptor());
+            if (arg == null) {
+                added.add(argument);
+                names.put(argument.getDescriptor(), argument);
+                isModified = true;
+            } else {
+                ArgumentDescriptor absorbed = arg.getDescriptor();
+                if (arg.absorb(argument)) {
+                    //Absorbing can change the long name
+                    names.remove(absorbed, arg);
+                    names.put(arg.getDescriptor(), arg);
+                    isModified = true;
+                }
+            }
+        }
+        ordinals = null;
+        super.addAll(index, added);
+        return isModified;
+    }
+
+    /**
+     * Returns content fingerprint of the list. The fingerprint does not depend on the order of arguments.
+     *
+     * @return content fingerprint
+     */
+    public Fingerprint getFingerprint() {
+        Fingerprint result = Fingerprint.ZERO;
+        for (Argument arg : this) {
+            result = result.plus(arg.getFingerprint());
+        }
+        return result;
     }
 
     @Override
@@ -112,10 +222,12 @@ public class ArgumentList extends ArrayList<Argument> {
         if (this.size() != another.size()) {
             return false;
         }
+        if (!getFingerprint().equals(another.getFingerprint())) {
+            return false;
+        }
         return contains(another) && another.contains(this);
     }
 
-
     /**
      * Is this list contains all elements of list {@code test}.
      *
@@ -127,20 +239,119 @@ public class ArgumentList extends ArrayList<Argument> {
         if (testList == null) {
             return false;
         }
-        boolean isEquals;
+        Set<Argument> arguments = new HashSet<>(this);
         for (Argument testArg : testList) {
-            isEquals = false;
-            for (Argument thisArg : this) {
-                if (testArg.equals(thisArg)) {
-                    isEquals = true;
-                    break;
-                }
-            }
-            if (!isEquals) {
+            if (!arguments.contains(testArg)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Hash index of arguments by short and long names. Names with IDs in the {@link SymbolTable} are indexed
+     * by the IDs; names of arguments created for undefined names have no IDs and are indexed by strings.
+     *
+     * @param <V> type of indexed values
+     */
+    private static final class NameIndex<V> {
+        /**
+         * Values by name IDs
+         */
+        private final Map<Integer, V> symbols;
+
+        /**
+         * Values by names without IDs, {@code null} if there are no such names
+         */
+        private Map<String, V> strings;
+
+        /**
+         * Create new index.
+         *
+         * @param capacity expected number of arguments
+         */
+        NameIndex(int capacity) {
+            symbols = new HashMap<>(capacity * 4);
+        }
+
+        /**
+         * Put the argument names to the index. Names that are already indexed are kept.
+         *
+         * @param descriptor argument metadata
+         * @param value      indexed value
+         */
+        void put(ArgumentDescriptor descriptor, V value) {
+            if (descriptor.isInterned()) {
+                symbols.putIfAbsent(descriptor.getShortSymbol(), value);
+                if (descriptor.getLongSymbol() != SymbolTable.NONE) {
+                    symbols.putIfAbsent(descriptor.getLongSymbol(), value);
+                }
+            } else {
+                if (strings == null) {
+                    strings = new HashMap<>();
+                }
+                strings.putIfAbsent(descriptor.getShortName(), value);
+                if (descriptor.getLongName() != null) {
+                    strings.putIfAbsent(descriptor.getLongName(), value);
+                }
+            }
+        }
+
+        /**
+         * Remove the argument names from the index if they refer to the value.
+         *
+         * @param descriptor argument metadata
+         * @param value      indexed value
+         */
+        void remove(ArgumentDescriptor descriptor, V value) {
+            if (descriptor.isInterned()) {
+                symbols.remove(descriptor.getShortSymbol(), value);
+                symbols.remove(descriptor.getLongSymbol(), value);
+            } else if (strings != null) {
+                strings.remove(descriptor.getShortName(), value);
+                if (descriptor.getLongName() != null) {
+                    strings.remove(descriptor.getLongName(), value);
+                }
+            }
+        }
+
+        /**
+         * Returns the value by name.
+         *
+         * @param name short or long argument name
+         * @return the value, {@code null} if the name is not indexed
+         */
+        V get(String name) {
+            int symbol = SymbolTable.find(name);
+            V value = symbol != SymbolTable.NONE ? symbols.get(symbol) : null;
+            if (value == null && strings != null) {
+                value = strings.get(name);
+            }
+            return value;
+        }
+
+        /**
+         * Returns the value by any name of the argument.
+         *
+         * @param descriptor argument metadata
+         * @return the value by the short name, or by the long name; {@code null} if no name is indexed
+         */
+        V get(ArgumentDescriptor descriptor) {
+            V value = null;
+            if (descriptor.isInterned()) {
+                value = symbols.get(descriptor.getShortSymbol());
+                if (value == null && descriptor.getLongSymbol() != SymbolTable.NONE) {
+                    value = symbols.get(descriptor.getLongSymbol());
+                }
+                if (value != null || strings == null) {
+                    return value;
+                }
+            }
+            value = get(descriptor.getShortName());
+            if (value == null && descriptor.getLongName() != null) {
+                value = get(descriptor.getLongName());
+            }
+            return value;
+        }
+    }
 }
@@ -1,9 +1,20 @@
 package com.github.onlycrab.argParser.arguments;
 
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
-import com.github.onlycrab.argParser.arguments.exceptions.ArgumentNotFoundException;
+import com.github.onlycrab.argParser.arguments.index.ByteKeyIndex;
+import com.github.onlycrab.argParser.common.CommandLineTokenizer;
+import com.github.onlycrab.argParser.common.ExternalReader;
+import com.github.onlycrab.argParser.common.TokenReader;
+import com.github.onlycrab.argParser.common.Utf8Slice;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -28,13 +39,13 @@ public class ArgumentParser {
      * @param target argument name string
      * @return argument name if {@code target} is valid argument name, otherwise returns {@code null}
      */
-    private static String parseArgumentName(String target) {
+    private static String parseArgumentName(CharSequence target) {
         if (target == null) {
             return null;
         } else if (!pattern.matcher(target).matches()) {
             return null;
         } else {
-            String name = target;
+            String name = target.toString();
             while (name.charAt(0) == '-') {
                 name = name.substring(1);
                 if (name.length() == 1) {
@@ -45,6 +56,71 @@ public class ArgumentParser {
         }
     }
 
+    /**
+     * Returns the length of the prefix {@code -} or {@code --} if the range of UTF-8 bytes is valid argument name,
+     * see {@link ArgumentParser#pattern}.
+     *
+     * @param bytes buffer
+     * @param start absolute index of the first byte of the token
+     * @param end   absolute index after the last byte of the token
+     * @return the length of the prefix; 0 if the token is not argument name
+     */
+    private static int parseArgumentNameOffset(ByteBuffer bytes, int start, int end) {
+        int pos = start;
+        if (pos == end || bytes.get(pos) != '-') {
+            return 0;
+        }
+        pos++;
+        if (pos < end && bytes.get(pos) == '-') {
+            pos++;
+        }
+        if (pos == end || !isLetter(bytes.get(pos))) {
+            return 0;
+        }
+        //Name consists of groups: a letter, letters and digits, optional '-' or '_'
+        boolean isAfterSeparator = false;
+        for (int i = pos + 1; i < end; i++) {
+            byte b = bytes.get(i);
+            if (isLetter(b)) {
+                isAfterSeparator = false;
+            } else if ((b >= '0' && b <= '9') || b == '-' || b == '_') {
+                if (isAfterSeparator) {
+                    return 0;
+                }
+                isAfterSeparator = b == '-' || b == '_';
+            } else {
+                return 0;
+            }
+        }
+        return pos - start;
+    }
+
+    /**
+     * Returns index of the first occurrence of the character.
+     *
+     * @param target character sequence
+     * @param c      character to search
+     * @return index of the first occurrence, -1 if the character is not found
+     */
+    private static int indexOf(CharSequence target, char c) {
+        for (int i = 0; i < target.length(); i++) {
+            if (target.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Is byte an ASCII letter.
+     *
+     * @param b byte to check
+     * @return {@code true} if the byte is an ASCII letter
+     */
+    private static boolean isLetter(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+    }
+
     /**
      * Parse argument array.
      *
@@ -56,7 +132,23 @@ public class ArgumentParser {
      * - Argument value must be transferred immediately after argument name, f.e {-argName1, value1, -argName2, value2}.<br>
      * - If two argument values will be transferred one by one, only the last value will be assigned to the argument. IF
      * you want to get an array of values for one argument, pass it in one line with the delimiter ','. Then, after
-     * parsing, you can get array by using value converter.</p>
+     * parsing, you can get array by using value converter.<br>
+     * - Name and value can be passed in one element separated by {@code =}: {@code --name=value} or {@code -n=value}.<br>
+     * - Single-character names can be bundled after one {@code -}: {@code -xvf} declares {@code x}, {@code v} and
+     * {@code f}, and the next value is assigned to {@code f}. The bundle is expanded only if the whole name is not
+     * defined, and each character is a defined name.<br>
+     * - Element {@code --} ends the arguments: all next elements are positional values, even if they look like
+     * argument names.</p>
+     *
+     * <p>Positional values are assigned to the positional arguments in order, see
+     * {@link ArgumentStorage#addPositional(Argument)}; the rest are passed to
+     * {@link ArgumentStorage#setPositionalConsumer(Consumer)} or saved to {@link ArgumentStorage#getPositionals()}.
+     * If positional arguments are added or the receiver is set, a value that does not immediately follow an argument
+     * name is positional; otherwise it is assigned to the last declared argument, as described above.</p>
+     *
+     * <p>If the argument name is not defined in the {@code storage}, it is processed according to
+     * {@link ArgumentStorage#getUnknownArgumentPolicy()}: a new argument is created, or the name is saved as unknown
+     * and its value is skipped.</p>
      *
      * @param storage object where the argument data will be written
      * @param args    argument array
@@ -65,42 +157,185 @@ public class ArgumentParser {
         if (storage == null || args == null) {
             return;
         }
-        String argName = null;
-        String tmp;
-        Argument element;
+        Session session = new Session(storage);
         for (String arg : args) {
-            tmp = parseArgumentName(arg);
-            /* If {@code tmp} is not null - it is argument name, sets argument {@code argName} is declared.
-            If {@code tmp} is null - it is argument value, sets last argument {@code argName} value. */
-            try {
-                if (tmp != null) {
-                    argName = tmp;
-                    try {
-                        element = storage.getArgument(argName);
-                    } catch (ArgumentNotFoundException e) {
-                        element = new Argument(argName, null);
-                        storage.add(element);
+            session.accept(arg);
+        }
+    }
+
+    /**
+     * Parse argument array, expand argument files.
+     *
+     * <p>If {@code expandArgumentFiles} is {@code true}, each element {@code @path} is replaced with the tokens of
+     * the file {@code path} (UTF-8). The file is memory-mapped and tokenized by {@link TokenReader} while parsing,
+     * tokens are passed to the parser one by one, so the size of the file is not limited by the command line length
+     * and its tokens are never collected into an array. Tokens of the file are not expanded again.
+     * To pass a value that starts with {@code @}, double it: {@code @@value} is parsed as {@code @value}.
+     * Elements after the terminator {@code --} are positional values and are passed as is, without expanding.</p>
+     *
+     * <p>Otherwise the array is parsed as by {@link ArgumentParser#parse(ArgumentStorage, String[])}.</p>
+     *
+     * @param storage             object where the argument data will be written
+     * @param args                argument array
+     * @param expandArgumentFiles whether to expand argument files
+     * @throws IOException if an argument file cannot be read; if a quote is not closed in an argument file
+     * @see TokenReader
+     */
+    public static void parse(ArgumentStorage storage, String[] args, boolean expandArgumentFiles) throws IOException {
+        if (storage == null || args == null) {
+            return;
+        }
+        Session session = new Session(storage);
+        for (String arg : args) {
+            if (!expandArgumentFiles || session.isTerminated() || arg == null || arg.length() < 2 || arg.charAt(0) != '@') {
+                session.accept(arg);
+            } else if (arg.charAt(1) == '@') {
+                session.accept(arg.substring(1));
+            } else {
+                try (TokenReader reader = new TokenReader(ExternalReader.openMapped(arg.substring(1), StandardCharsets.UTF_8))) {
+                    String token;
+                    while ((token = reader.next()) != null) {
+                        session.accept(token);
                     }
-                    element.setDeclared(true);
-                } else {
-                    if (argName != null) {
-                        try {
-                            element = storage.getArgument(argName);
-                        } catch (ArgumentNotFoundException e) {
-                            element = new Argument(argName, null);
-                            storage.add(element);
-                        }
-                        element.setValue(arg);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse tokens as they arrive, f.e. from a pipe or a socket.
+     *
+     * <p>Tokens are parsed as by {@link ArgumentParser#parse(ArgumentStorage, String[])}, but one by one as the
+     * iterator returns them, so the parsing can start before the whole input has arrived. An argument is complete
+     * when its value arrives, or, for multi-valued arguments and arguments without a value, when the next argument
+     * name arrives or the input ends: then {@code onComplete} is called with it, so the argument can be validated
+     * (f.e. by {@link Argument#getValueConverter()} or its rules) while the rest of the input is still being received.
+     * If the same argument is declared several times, {@code onComplete} is called each time. To stop parsing early,
+     * throw an unchecked exception from {@code onComplete}; it is passed to the caller.</p>
+     *
+     * <p>Each token is copied by {@link CharSequence#toString()} when it is returned by the iterator, so the iterator
+     * can reuse one buffer for all tokens.</p>
+     *
+     * @param storage    object where the argument data will be written
+     * @param tokens     source of tokens
+     * @param onComplete callback for complete arguments; can be {@code null}
+     */
+    public static void parse(ArgumentStorage storage, Iterator<? extends CharSequence> tokens, @Nullable Consumer<Argument> onComplete) {
+        if (storage == null || tokens == null) {
+            return;
+        }
+        Session session = new Session(storage, onComplete);
+        while (tokens.hasNext()) {
+            CharSequence token = tokens.next();
+            session.accept(token != null ? token.toString() : null);
+        }
+        session.finish();
+    }
+
+    /**
+     * Parse UTF-8 encoded tokens separated by NUL bytes, as in {@code /proc/<pid>/cmdline}.
+     *
+     * @param storage object where the argument data will be written
+     * @param bytes   UTF-8 encoded tokens
+     * @see ArgumentParser#parse(ArgumentStorage, ByteBuffer, byte)
+     */
+    public static void parse(ArgumentStorage storage, byte[] bytes) {
+        if (bytes == null) {
+            return;
+        }
+        parse(storage, ByteBuffer.wrap(bytes), (byte) 0);
+    }
+
+    /**
+     * Parse UTF-8 encoded tokens without decoding them.
+     *
+     * <p>Tokens are read between the position and the limit of the buffer, the position is not changed.
+     * Argument names are recognized and looked up by their bytes in the index of UTF-8 encoded names
+     * (see {@link ArgumentStorage}). Values are not copied: each value is a {@link Utf8Slice} of the buffer,
+     * which is decoded only when the application reads it. So the buffer must not be changed until the values
+     * are read or the storage is cleared.</p>
+     *
+     * <p>A separator at the end of the buffer terminates the last token; empty tokens between two separators
+     * are empty values. Undefined names are decoded and processed as by
+     * {@link ArgumentParser#parse(ArgumentStorage, String[])}.</p>
+     *
+     * @param storage   object where the argument data will be written
+     * @param bytes     UTF-8 encoded tokens
+     * @param separator byte separating tokens, f.e. 0 or {@code '\n'}
+     */
+    public static void parse(ArgumentStorage storage, ByteBuffer bytes, byte separator) {
+        if (storage == null || bytes == null) {
+            return;
+        }
+        ByteKeyIndex<Argument> index = storage.getByteIndex();
+        Session session = new Session(storage);
+        int limit = bytes.limit();
+        int start = bytes.position();
+        while (start < limit) {
+            int end = start;
+            while (end < limit && bytes.get(end) != separator) {
+                end++;
+            }
+            if (session.isTerminated()) {
+                session.acceptValue(new Utf8Slice(bytes, start, end - start));
+                start = end + 1;
+                continue;
+            } else if (end - start == 2 && bytes.get(start) == '-' && bytes.get(start + 1) == '-') {
+                session.terminate();
+                start = end + 1;
+                continue;
+            }
+            //Name ends at '=' in --name=value
+            int nameEnd = start;
+            while (nameEnd < end && bytes.get(nameEnd) != '=') {
+                nameEnd++;
+            }
+            int nameOffset = parseArgumentNameOffset(bytes, start, nameEnd);
+            if (nameOffset > 0) {
+                Argument arg = index.get(bytes, start + nameOffset, nameEnd - start - nameOffset);
+                if (arg != null) {
+                    session.declare(arg);
+                    if (nameEnd < end) {
+                        session.acceptValue(new Utf8Slice(bytes, nameEnd + 1, end - nameEnd - 1));
                     }
+                } else {
+                    //Undefined or created while parsing: rare case, the token is decoded
+                    session.accept(new Utf8Slice(bytes, start, end - start).toString());
                 }
-            } catch (ArgumentException ignored) {
-                //ArgumentException will never thrown, because argName is already valid argument name
+            } else {
+                session.acceptValue(new Utf8Slice(bytes, start, end - start));
             }
+            start = end + 1;
+        }
+        session.finish();
+    }
+
+    /**
+     * Parse command line with POSIX shell quoting, f.e. a command from a log, a scheduler or a socket.
+     *
+     * <p>The line is split by {@link CommandLineTokenizer}; tokens are parsed as by
+     * {@link ArgumentParser#parse(ArgumentStorage, String[])} while the line is being scanned. Values without quotes
+     * and escapes are not copied, they are stored as views of the line, so the line must not be changed until
+     * the values are read or the storage is cleared.</p>
+     *
+     * @param storage     object where the argument data will be written
+     * @param commandLine command line
+     * @throws ArgumentException if a quote is not closed; values before the error are parsed
+     */
+    public static void parse(ArgumentStorage storage, CharSequence commandLine) throws ArgumentException {
+        if (storage == null || commandLine == null) {
+            return;
         }
+        Session session = new Session(storage);
+        CommandLineTokenizer tokenizer = new CommandLineTokenizer(commandLine);
+        while (tokenizer.next()) {
+            session.accept(tokenizer.getToken());
+        }
+        session.finish();
     }
 
     /**
-     * Parse key-value pairs.
+     * Parse key-value pairs. Undefined keys are processed according to {@link ArgumentStorage#getUnknownArgumentPolicy()}.
      *
      * @param storage object where the argument data will be written
      * @param pairs   key-value pairs
@@ -112,13 +347,281 @@ public class ArgumentParser {
         }
         Argument arg;
         for (Map.Entry<?, ?> pair : pairs.entrySet()) {
-            try {
-                arg = storage.getArgument(pair.getKey().toString());
-            } catch (ArgumentNotFoundException e) {
-                arg = new Argument(pair.getKey().toString(), null);
-                storage.add(arg);
+            arg = storage.findArgument(pair.getKey().toString());
+            if (arg == null) {
+                arg = storage.addUnknown(pair.getKey().toString());
+            }
+            if (arg != null) {
+                arg.setValue(pair.getValue().toString());
+            }
+        }
+    }
+
+    /**
+     * Read values of arguments from the bound environment variables of the process.
+     *
+     * @param storage object where the argument data will be written
+     * @see ArgumentParser#parseEnvironment(ArgumentStorage, Map)
+     */
+    public static void parseEnvironment(ArgumentStorage storage) {
+        parseEnvironment(storage, null);
+    }
+
+    /**
+     * Read values of arguments from the bound environment variables. Only the variables bound by
+     * {@link Argument#setEnvironmentVariable(String)} are read, the names are collected once by the storage and
+     * reused until the arguments list is changed. A variable that is not set does not change the argument.
+     * Values are recorded with the source {@link ValueSource#ENVIRONMENT}, the arguments are not declared.
+     *
+     * @param storage   object where the argument data will be written
+     * @param variables environment variables; if {@code null} - the environment of the process will be used
+     */
+    public static void parseEnvironment(ArgumentStorage storage, @Nullable Map<String, String> variables) {
+        if (storage == null) {
+            return;
+        }
+        ArgumentStorage.SourceKeys keys = storage.getSourceKeys();
+        for (int i = 0; i < keys.boundArguments.length; i++) {
+            String value = variables != null ? variables.get(keys.boundVariables[i]) : System.getenv(keys.boundVariables[i]);
+            if (value != null) {
+                keys.boundArguments[i].setLayeredValue(value, ValueSource.ENVIRONMENT);
+            }
+        }
+    }
+
+    /**
+     * Parsing state of one command line. Tokens are passed to the session one by one.
+     */
+    private static final class Session {
+        /**
+         * Object where the argument data will be written
+         */
+        private final ArgumentStorage storage;
+
+        /**
+         * Last declared argument; {@code null} if no argument was declared yet or the last name was rejected
+         */
+        private Argument element;
+
+        /**
+         * Callback for complete arguments; can be {@code null}
+         */
+        private final Consumer<Argument> onComplete;
+
+        /**
+         * Whether values that do not follow argument name are positional
+         */
+        private final boolean isPositionalAccepted;
+
+        /**
+         * Whether the terminator {@code --} was passed: all next tokens are positional values
+         */
+        private boolean isTerminated;
+
+        /**
+         * Whether the last declared argument has not received its value yet
+         */
+        private boolean isValueExpected;
+
+        /**
+         * Whether {@link Session#onComplete} has already been called for the last declared argument
+         */
+        private boolean isCompleted;
+
+        /**
+         * Position of the next positional value
+         */
+        private int positionalIndex;
+
+        /**
+         * Index of arguments by single-character names, taken from the storage on the first bundled token and
+         * taken again only if a character is not found in it; {@code null} if not taken yet
+         */
+        private Argument[] charIndex;
+
+        /**
+         * Create new session.
+         *
+         * @param storage object where the argument data will be written
+         */
+        Session(ArgumentStorage storage) {
+            this(storage, null);
+        }
+
+        /**
+         * Create new session.
+         *
+         * @param storage    object where the argument data will be written
+         * @param onComplete callback for complete arguments; can be {@code null}
+         */
+        Session(ArgumentStorage storage, @Nullable Consumer<Argument> onComplete) {
+            this.storage = storage;
+            this.onComplete = onComplete;
+            isPositionalAccepted = storage.isPositionalAccepted();
+        }
+
+        /**
+         * Is the terminator {@code --} passed.
+         *
+         * @return {@code true} if all next tokens are positional values
+         */
+        boolean isTerminated() {
+            return isTerminated;
+        }
+
+        /**
+         * Complete the last declared argument and treat all next tokens as positional values.
+         */
+        void terminate() {
+            finish();
+            element = null;
+            isTerminated = true;
+        }
+
+        /**
+         * Parse the next token. If the token is argument name - declares the argument,
+         * otherwise sets the value of the last declared argument.
+         *
+         * @param token argument name or value
+         */
+        void accept(CharSequence token) {
+            if (token == null || isTerminated) {
+                acceptValue(token);
+                return;
+            } else if (token.length() == 2 && token.charAt(0) == '-' && token.charAt(1) == '-') {
+                terminate();
+                return;
+            }
+            //--name=value: split at the first '=' without copying the value
+            int eq = indexOf(token, '=');
+            if (eq > 0 && token.charAt(0) == '-') {
+                String argName = parseArgumentName(token.subSequence(0, eq));
+                if (argName != null) {
+                    acceptName(argName, token.charAt(1) == '-');
+                    acceptValue(CharBuffer.wrap(token, eq + 1, token.length()));
+                    return;
+                }
+            }
+            String argName = parseArgumentName(token);
+            if (argName == null) {
+                acceptValue(token);
+            } else if (token.charAt(1) == '-' || argName.length() == 1 || !acceptBundle(argName)) {
+                acceptName(argName, token.charAt(1) == '-');
+            }
+        }
+
+        /**
+         * Declare bundled single-character arguments, f.e. {@code -xvf}.
+         *
+         * @param flags bundled names
+         * @return {@code false} if the whole name is defined or any character is not a defined name;
+         * nothing is declared then
+         */
+        private boolean acceptBundle(String flags) {
+            if (storage.isDefined(flags)) {
+                return false;
+            }
+            if (charIndex == null || !isIndexed(flags)) {
+                //Arguments created while parsing are not in the index yet
+                charIndex = storage.getCharIndex();
+                if (!isIndexed(flags)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < flags.length(); i++) {
+                declare(charIndex[flags.charAt(i)]);
+            }
+            return true;
+        }
+
+        /**
+         * Is each character of the bundle a name in the {@link Session#charIndex}.
+         *
+         * @param flags bundled names
+         * @return {@code true} if all characters are found
+         */
+        private boolean isIndexed(String flags) {
+            for (int i = 0; i < flags.length(); i++) {
+                char c = flags.charAt(i);
+                if (c >= charIndex.length || charIndex[c] == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Declare the argument by name. If abbreviations are allowed, the name after {@code --} can be a unique
+         * prefix of a long name. Undefined name is processed according to
+         * {@link ArgumentStorage#getUnknownArgumentPolicy()}.
+         *
+         * @param argName valid argument name
+         * @param isLong  is the name written after {@code --}
+         */
+        void acceptName(String argName, boolean isLong) {
+            Argument arg = storage.findArgument(argName);
+            if (arg == null && isLong && storage.isAbbreviationsAllowed()) {
+                arg = storage.resolveAbbreviation(argName);
+            }
+            if (arg == null) {
+                try {
+                    arg = storage.addUnknown(argName);
+                } catch (ArgumentException ignored) {
+                    //ArgumentException will never thrown, because argName is already valid argument name
+                    arg = null;
+                }
+            }
+            declare(arg);
+        }
+
+        /**
+         * Complete the last declared argument and declare the {@code arg}.
+         *
+         * @param arg argument to declare; {@code null} if the name was rejected
+         */
+        void declare(@Nullable Argument arg) {
+            finish();
+            element = arg;
+            isValueExpected = true;
+            isCompleted = false;
+            if (element != null) {
+                element.setDeclared(true);
+            }
+        }
+
+        /**
+         * Set value of the last declared argument without copying or decoding it. After the terminator, or if
+         * positional values are accepted and the last declared argument has already received its value,
+         * the value is positional.
+         *
+         * @param value argument value
+         */
+        void acceptValue(CharSequence value) {
+            if (isTerminated || (isPositionalAccepted && !isValueExpected)) {
+                if (value != null) {
+                    storage.acceptPositional(positionalIndex++, value);
+                }
+                return;
+            }
+            isValueExpected = false;
+            if (element != null) {
+                element.setValueSlice(value);
+                if (!element.isMultiValued()) {
+                    //A single value completes the argument
+                    isCompleted = false;
+                    finish();
+                }
+            }
+        }
+
+        /**
+         * Complete the last declared argument, if it is not completed yet.
+         */
+        void finish() {
+            if (element != null && onComplete != null && !isCompleted) {
+                isCompleted = true;
+                onComplete.accept(element);
             }
-            arg.setValue(pair.getValue().toString());
         }
     }
 }
@@ -2,11 +2,20 @@ package com.github.onlycrab.argParser.arguments;
 
 import com.github.onlycrab.argParser.arguments.converter.ValueConverter;
 import com.github.onlycrab.argParser.arguments.dependencies.Conflicts;
+import com.github.onlycrab.argParser.arguments.dependencies.ConsistencyAnalyzer;
 import com.github.onlycrab.argParser.arguments.dependencies.Requirements;
 import com.github.onlycrab.argParser.arguments.dependencies.ReturnedBoolean;
 import com.github.onlycrab.argParser.arguments.dependencies.Rule;
+import com.github.onlycrab.argParser.arguments.dependencies.RuleEvaluator;
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentNotFoundException;
+import com.github.onlycrab.argParser.arguments.help.HelpIndex;
+import com.github.onlycrab.argParser.arguments.help.HelpLayout;
+import com.github.onlycrab.argParser.arguments.help.HelpWriter;
+import com.github.onlycrab.argParser.arguments.index.BkTree;
+import com.github.onlycrab.argParser.arguments.index.ByteKeyIndex;
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
+import com.github.onlycrab.argParser.arguments.index.NameTrie;
 import com.github.onlycrab.argParser.arguments.xml.XmlWrapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -15,9 +24,18 @@ import javax.xml.stream.XMLStreamException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * An object that store and control all arguments data, provides the following capabilities:<br>
@@ -87,12 +105,24 @@ import java.util.Map;
  * {@link ArgumentStorage#isConflict()} checks for conflicts (must be called after parsing).
  * To get a text message about the result of the check, use {@link ArgumentStorage#getMessage()}.</p>
  *
+ * <p>The dependencies and conflicts can contradict each other, f.e. two required arguments are in conflict.
+ * Use {@link ArgumentStorage#isConsistent()} to find such contradictions before any parsing.</p>
+ *
  * <p>8.It is possible to create custom rules for arguments. First, create a class that extends {@link Rule}
  * and override the {@link Rule#isSatisfied()}. Then add to the rule the arguments that should execute it
  * by the method {@link Rule#addTarget(Argument)}. Then add rules to storage object by {@link ArgumentStorage#addRule(Rule)}.
  * After parsing, call the {@link ArgumentStorage#isRulesSatisfied()}: the result will be {@code false} if any rule
  * returns {@code false} from {@link Rule#isSatisfied()}, otherwise the result will be {@code true}.
- * To get a text message about the result if it is {@code false}, use {@link ArgumentStorage#getMessage()}</p>
+ * To get a text message about the result if it is {@code false}, use {@link ArgumentStorage#getMessage()}.
+ * If some rules are expensive to check, mark them by {@link Rule#setCostly(boolean)} and call
+ * {@link ArgumentStorage#isRulesSatisfied(Executor)}: costly rules will be checked in parallel, and the messages
+ * will still be merged in the order in which the rules were added.</p>
+ *
+ * <p>By default, the parser creates a new argument for each undefined name. To reject such names instead,
+ * use {@link ArgumentStorage#setUnknownArgumentPolicy(UnknownArgumentPolicy)}; after parsing,
+ * {@link ArgumentStorage#isUnknownDeclared()} reports rejected names along with the closest defined names.
+ * When parsing untrusted input, do not use the default policy: only the other policies keep undefined names
+ * out of the arguments list and limit their number by {@link ArgumentStorage#setUnknownArgumentLimit(int)}.</p>
  *
  * <p>9.If necessary, you can enter text information about the project. This does not affect
  * arguments or parsing process in any way. The information is added by methods
@@ -102,7 +132,12 @@ import java.util.Map;
  * <p>10.The method {@link ArgumentStorage#getHelp()} returns help about the project: general information
  * about the project and a description of the arguments. The method {@link ArgumentStorage#getHelp(String)}
  * returns a detailed description of a particular argument.
- * Also you can get help if and only if help argument is declared or filled : use {@link ArgumentStorage#getSystemHelp(String)}.</p>
+ * Also you can get help if and only if help argument is declared or filled : use {@link ArgumentStorage#getSystemHelp(String)}.
+ * For large specifications, {@link ArgumentStorage#writeHelp(Appendable, HelpLayout)} writes help straight to
+ * a {@link java.io.Writer} or {@link java.io.PrintStream}, wraps descriptions to the terminal width and can
+ * filter or page arguments. To find arguments by keywords in names and descriptions use
+ * {@link ArgumentStorage#searchHelp(String)}; {@link ArgumentStorage#getSystemHelp(String)} falls back to the search
+ * if the help argument value is not an argument name.</p>
  *
  * @author Roman Rynkovich
  * @version 1.0
@@ -155,16 +190,9 @@ public class ArgumentStorage {
     private String example;
 
     /**
-     * A template that is used to display help string for a specific argument.
+     * A counters that are used to layout the help columns.
      *
-     * @see ArgumentStorage#buildParametersHelpTemplate
-     */
-    private String printArgumentTemplate = "";
-
-    /**
-     * A counters that are used to parse the help print template.
-     *
-     * @see ArgumentStorage#buildParametersHelpTemplate
+     * @see HelpWriter
      */
     private int maxShortNameLength = 1;
     private int maxLongNameLength = 5;
@@ -173,10 +201,130 @@ public class ArgumentStorage {
     /**
      * Last info message. The message is overwritten each time the following methods are called:
      * {@link ArgumentStorage#isCyclicDependencyExists()}, {@link ArgumentStorage#isRequireFilled()},
-     * {@link ArgumentStorage#isConflict()}, {@link ArgumentStorage#isRulesSatisfied()}, {@link ArgumentStorage#clear()}.
+     * {@link ArgumentStorage#isConflict()}, {@link ArgumentStorage#isRulesSatisfied()}, {@link ArgumentStorage#isConsistent()}, {@link ArgumentStorage#isUnknownDeclared()},
+     * {@link ArgumentStorage#clear()}.
      */
     private String lastMessage;
 
+    /**
+     * Storage revision. Incremented each time the arguments list or the project info is changed.
+     */
+    private int revision;
+
+    /**
+     * Rendered help info text. Valid only while {@link ArgumentStorage#cacheRevision} and
+     * {@link ArgumentStorage#cacheModifications} match the current revisions.
+     */
+    private String help;
+
+    /**
+     * Rendered detailed descriptions of arguments.
+     */
+    private final Map<Argument, String> helpDetails = new IdentityHashMap<>();
+
+    /**
+     * Help search index.
+     */
+    private HelpIndex helpIndex;
+
+    /**
+     * Index of all short and long names for "did you mean" suggestions.
+     */
+    private BkTree nameIndex;
+
+    /**
+     * Index of long names for resolving abbreviations.
+     */
+    private NameTrie longNameIndex;
+
+    /**
+     * Are unique prefixes of long names accepted as the names.
+     */
+    private boolean isAbbreviationsAllowed;
+
+    /**
+     * Index of all short and long names encoded in UTF-8 for parsing byte buffers.
+     */
+    private ByteKeyIndex<Argument> byteIndex;
+
+    /**
+     * Index of arguments with single-character ASCII names for expanding bundled names.
+     */
+    private Argument[] charIndex;
+
+    /**
+     * Environment variable and property names of arguments for resolving layered values.
+     */
+    private SourceKeys sourceKeys;
+
+    /**
+     * Prefix of environment variable names of arguments.
+     */
+    private String environmentPrefix = "";
+
+    /**
+     * Policy of processing undefined argument names while parsing.
+     */
+    private UnknownArgumentPolicy unknownPolicy = UnknownArgumentPolicy.CREATE;
+
+    /**
+     * Generation counter of parsing results shared by all arguments of the storage.
+     */
+    private final ParseEpoch epoch = new ParseEpoch();
+
+    /**
+     * Default maximum number of undefined names kept while parsing.
+     */
+    public static final int DEFAULT_UNKNOWN_ARGUMENT_LIMIT = 64;
+
+    /**
+     * Undefined argument names rejected while parsing.
+     */
+    private final Set<String> unknownNames = new LinkedHashSet<>();
+
+    /**
+     * Undefined arguments collected while parsing, by name.
+     */
+    private final Map<String, Argument> unknownArguments = new LinkedHashMap<>();
+
+    /**
+     * Maximum number of undefined names kept while parsing.
+     */
+    private int unknownLimit = DEFAULT_UNKNOWN_ARGUMENT_LIMIT;
+
+    /**
+     * Number of undefined names dropped after the {@link ArgumentStorage#unknownLimit} was reached.
+     */
+    private int unknownOverflow;
+
+    /**
+     * Positional arguments in order of their positions.
+     */
+    private final List<Argument> positionalArguments = new ArrayList<>();
+
+    /**
+     * Positional values beyond the positional arguments, as they were parsed (not converted to strings).
+     */
+    private final List<CharSequence> positionalValues = new ArrayList<>();
+
+    /**
+     * Arguments created for undefined names while parsing.
+     *
+     * @see UnknownArgumentPolicy#CREATE
+     */
+    private final List<Argument> createdArguments = new ArrayList<>();
+
+    /**
+     * Receiver of positional values beyond the positional arguments; if {@code null} - the values are saved.
+     */
+    private Consumer<CharSequence> positionalConsumer;
+
+    /**
+     * Storage revision and number of metadata changes of arguments for which the caches were built.
+     */
+    private int cacheRevision = -1;
+    private int cacheModifications;
+
     /**
      * Create new empty storage object.
      */
@@ -200,6 +348,55 @@ public class ArgumentStorage {
         }
     }
 
+    /**
+     * Create copy of the storage specification.
+     *
+     * @param source storage to copy
+     * @see ArgumentStorage#copy()
+     */
+    private ArgumentStorage(ArgumentStorage source) {
+        args = new ArgumentList();
+        rules = new ArrayList<>();
+        description = source.description;
+        usage = source.usage;
+        example = source.example;
+        unknownPolicy = source.unknownPolicy;
+        unknownLimit = source.unknownLimit;
+        environmentPrefix = source.environmentPrefix;
+        isAbbreviationsAllowed = source.isAbbreviationsAllowed;
+        Map<Argument, Argument> replacements = new IdentityHashMap<>();
+        List<Argument> copies = new ArrayList<>(source.args.size());
+        for (Argument arg : source.args) {
+            Argument copy = new Argument(arg.getDescriptor());
+            copies.add(copy);
+            replacements.put(arg, copy);
+        }
+        addAll(copies);
+        for (Argument arg : source.positionalArguments) {
+            positionalArguments.add(replacements.get(arg));
+        }
+        reqLinks = source.reqLinks.copy(replacements);
+        confLinks = source.confLinks.copy(replacements);
+    }
+
+    /**
+     * Returns copy of the storage specification without parsing results. Arguments of the copy share
+     * metadata with the arguments of this storage (see {@link ArgumentDescriptor}), so a copy costs a few
+     * fields per argument regardless of the size of the help texts.
+     *
+     * <p>Dependencies, conflicts, positional arguments and settings are copied. Custom rules refer to the
+     * arguments of this storage, so they are not copied and must be added to the copy again. The receiver
+     * of positional values is not copied.</p>
+     *
+     * <p>A copy is a cheap factory for {@link ArgumentStoragePool}: {@code new ArgumentStoragePool(template::copy)}.</p>
+     *
+     * @return copy of the storage specification
+     */
+    @NotNull
+    public ArgumentStorage copy() {
+        return new ArgumentStorage(this);
+    }
+
     /**
      * Set project description text (used only for printing help info).
      *
@@ -207,6 +404,7 @@ public class ArgumentStorage {
      */
     public void setDescription(String value) {
         description = value;
+        revision++;
     }
 
     /**
@@ -216,6 +414,7 @@ public class ArgumentStorage {
      */
     public void setUsage(String value) {
         usage = value;
+        revision++;
     }
 
     /**
@@ -225,6 +424,7 @@ public class ArgumentStorage {
      */
     public void setExample(String value) {
         example = value;
+        revision++;
     }
 
     /**
@@ -279,7 +479,8 @@ public class ArgumentStorage {
     /**
      * Returns the last info message. The message is overwritten each time the following methods are called:
      * {@link ArgumentStorage#isCyclicDependencyExists()}, {@link ArgumentStorage#isRequireFilled()},
-     * {@link ArgumentStorage#isConflict()}, {@link ArgumentStorage#isRulesSatisfied()}, {@link ArgumentStorage#clear()}.
+     * {@link ArgumentStorage#isConflict()}, {@link ArgumentStorage#isRulesSatisfied()}, {@link ArgumentStorage#isConsistent()}, {@link ArgumentStorage#isUnknownDeclared()},
+     * {@link ArgumentStorage#clear()}.
      *
      * @return last info message
      * @see ArgumentStorage#isRequireFilled()
@@ -293,6 +494,288 @@ public class ArgumentStorage {
         }
     }
 
+    /**
+     * Set policy of processing undefined argument names while parsing.
+     *
+     * @param value policy; if {@code null} - {@link UnknownArgumentPolicy#CREATE} will be used
+     * @see UnknownArgumentPolicy
+     */
+    public void setUnknownArgumentPolicy(@Nullable UnknownArgumentPolicy value) {
+        if (value != null) {
+            unknownPolicy = value;
+        } else {
+            unknownPolicy = UnknownArgumentPolicy.CREATE;
+        }
+    }
+
+    /**
+     * Returns policy of processing undefined argument names while parsing.
+     *
+     * @return policy of processing undefined argument names
+     */
+    @NotNull
+    public UnknownArgumentPolicy getUnknownArgumentPolicy() {
+        return unknownPolicy;
+    }
+
+    /**
+     * Set maximum number of undefined names kept while parsing with {@link UnknownArgumentPolicy#REJECT}
+     * or {@link UnknownArgumentPolicy#COLLECT} policy. Names beyond the limit are only counted.
+     *
+     * @param value maximum number of undefined names; negative value is treated as 0
+     */
+    public void setUnknownArgumentLimit(int value) {
+        unknownLimit = Math.max(0, value);
+    }
+
+    /**
+     * Returns maximum number of undefined names kept while parsing.
+     *
+     * @return maximum number of undefined names kept while parsing
+     */
+    public int getUnknownArgumentLimit() {
+        return unknownLimit;
+    }
+
+    /**
+     * Process undefined argument name according to the {@link ArgumentStorage#unknownPolicy}.
+     * Only {@link UnknownArgumentPolicy#CREATE} policy adds the argument to the arguments list.
+     *
+     * @param name argument name
+     * @return argument to assign the value to, or {@code null} if the value must be skipped
+     * @throws ArgumentException if an error occurs while creating a new argument
+     */
+    @Nullable
+    Argument addUnknown(String name) throws ArgumentException {
+        switch (unknownPolicy) {
+            case IGNORE:
+                return null;
+            case REJECT:
+                if (!unknownNames.contains(name)) {
+                    if (unknownNames.size() < unknownLimit) {
+                        unknownNames.add(name);
+                    } else {
+                        unknownOverflow++;
+                    }
+                }
+                return null;
+            case COLLECT:
+                Argument collected = unknownArguments.get(name);
+                if (collected == null) {
+                    if (unknownArguments.size() >= unknownLimit) {
+                        unknownOverflow++;
+                        return null;
+                    }
+                    collected = createUnknown(name);
+                    unknownArguments.put(name, collected);
+                }
+                return collected;
+            default:
+                Argument arg = createUnknown(name);
+                add(arg);
+                createdArguments.add(arg);
+                return arg;
+        }
+    }
+
+    /**
+     * Create argument for undefined name. The name comes from the input, so it is not interned in the
+     * {@link com.github.onlycrab.argParser.arguments.index.SymbolTable}.
+     *
+     * @param name argument name
+     * @return new argument
+     * @throws ArgumentException if name is {@code null} or empty
+     */
+    private static Argument createUnknown(String name) throws ArgumentException {
+        if (name == null) throw new ArgumentException("Parameter <shortName> is null.");
+        if (name.trim().length() == 0) throw new ArgumentException("Parameter <shortName> is empty.");
+        return new Argument(ArgumentDescriptor.undefined(name));
+    }
+
+    /**
+     * Remove arguments created for undefined names while parsing, so that the storage has only the arguments of
+     * the specification again. Used by {@link ArgumentStoragePool} before a storage is reused.
+     *
+     * @see UnknownArgumentPolicy#CREATE
+     */
+    void removeCreatedArguments() {
+        if (createdArguments.isEmpty()) {
+            return;
+        }
+        Set<Argument> created = Collections.newSetFromMap(new IdentityHashMap<>());
+        created.addAll(createdArguments);
+        args.removeIf(created::contains);
+        createdArguments.clear();
+        revision++;
+    }
+
+    /**
+     * Returns undefined argument names rejected while parsing.
+     *
+     * @return undefined argument names rejected while parsing
+     * @see UnknownArgumentPolicy#REJECT
+     */
+    public List<String> getUnknownNames() {
+        return new ArrayList<>(unknownNames);
+    }
+
+    /**
+     * Returns undefined arguments collected while parsing. The arguments are not added to the arguments list.
+     *
+     * @return undefined arguments collected while parsing
+     * @see UnknownArgumentPolicy#COLLECT
+     */
+    public List<Argument> getUnknownArguments() {
+        return new ArrayList<>(unknownArguments.values());
+    }
+
+    /**
+     * Returns number of undefined names dropped after the limit was reached.
+     *
+     * @return number of undefined names dropped after the limit was reached
+     * @see ArgumentStorage#setUnknownArgumentLimit(int)
+     */
+    public int getUnknownOverflow() {
+        return unknownOverflow;
+    }
+
+    /**
+     * Forget undefined names and arguments found while parsing.
+     */
+    private void clearUnknown() {
+        unknownNames.clear();
+        unknownArguments.clear();
+        unknownOverflow = 0;
+    }
+
+    /**
+     * Returns if any undefined argument name was rejected while parsing. If so, saves an explanatory message
+     * with the closest defined names that can be obtained by the method {@link ArgumentStorage#getMessage()}.
+     *
+     * @return {@code true} if any undefined argument name was rejected while parsing, otherwise returns {@code false}
+     * @see UnknownArgumentPolicy#REJECT
+     */
+    public boolean isUnknownDeclared() {
+        StringBuilder sb = new StringBuilder();
+        for (String name : unknownNames) {
+            if (isAbbreviationsAllowed) {
+                List<String> candidates = getAbbreviationCandidates(name);
+                if (candidates.size() > 1) {
+                    sb.append("Ambiguous parameter <").append(name).append(">. It can be ");
+                    for (int i = 0; i < candidates.size(); i++) {
+                        sb.append(i == 0 ? "<" : ", <").append(candidates.get(i)).append(">");
+                    }
+                    sb.append(". ");
+                    continue;
+                }
+            }
+            sb.append("Unknown parameter <").append(name).append(">.");
+            List<String> suggestions = suggest(name);
+            for (int i = 0; i < suggestions.size(); i++) {
+                sb.append(i == 0 ? " Did you mean <" : ", <").append(suggestions.get(i)).append(">");
+            }
+            if (!suggestions.isEmpty()) {
+                sb.append("?");
+            }
+            sb.append(" ");
+        }
+        if (unknownOverflow > 0 && unknownPolicy == UnknownArgumentPolicy.REJECT) {
+            sb.append("And ").append(unknownOverflow).append(" more unknown parameters. ");
+        }
+        lastMessage = sb.toString();
+        return !unknownNames.isEmpty() || (unknownOverflow > 0 && unknownPolicy == UnknownArgumentPolicy.REJECT);
+    }
+
+    /**
+     * Returns defined short and long names closest to the {@code name} by edit distance, the closest first.
+     * The allowed distance depends on the length of the name: 1 for names shorter than 6 characters,
+     * 2 for names shorter than 9 characters, otherwise 3. The names index is built once and then reused
+     * until the arguments list is changed.
+     *
+     * @param name undefined argument name
+     * @return up to 3 closest defined names
+     * @see BkTree
+     */
+    public List<String> suggest(String name) {
+        if (name == null) {
+            return new ArrayList<>();
+        }
+        validateCaches();
+        if (nameIndex == null) {
+            nameIndex = new BkTree();
+            for (Argument arg : args) {
+                nameIndex.add(arg.getShortName());
+                nameIndex.add(arg.getLongName());
+            }
+        }
+        List<String> found = nameIndex.search(name, Math.max(1, Math.min(3, name.length() / 3)));
+        return new ArrayList<>(found.subList(0, Math.min(3, found.size())));
+    }
+
+    /**
+     * Allow abbreviated long names, f.e. {@code --verb} for {@code --verbose}. A prefix of a long name is accepted
+     * if no other long name starts with it; a name that is defined exactly is always taken as is.
+     * Ambiguous prefixes are processed as undefined names, and {@link ArgumentStorage#isUnknownDeclared()}
+     * reports them with the matching names. By default abbreviations are not allowed.
+     *
+     * @param value are abbreviations allowed
+     * @see ArgumentStorage#resolveAbbreviation(String)
+     */
+    public void setAbbreviationsAllowed(boolean value) {
+        isAbbreviationsAllowed = value;
+    }
+
+    /**
+     * Are abbreviated long names allowed.
+     *
+     * @return if abbreviations are allowed - {@code true}, else - {@code false}
+     */
+    public boolean isAbbreviationsAllowed() {
+        return isAbbreviationsAllowed;
+    }
+
+    /**
+     * Returns argument by long name or by unique prefix of long name. Takes time proportional to the length of
+     * the prefix; the long names index is built once and then reused until the arguments list is changed.
+     *
+     * @param prefix long name or its abbreviation
+     * @return argument by long name or its abbreviation, {@code null} if {@code prefix} is {@code null},
+     * no long name or several long names start with {@code prefix}
+     * @see NameTrie
+     */
+    @Nullable
+    public Argument resolveAbbreviation(String prefix) {
+        String name = getLongNameIndex().resolve(prefix);
+        return name != null ? args.get(name) : null;
+    }
+
+    /**
+     * Returns long names that start with {@code prefix} in alphabetical order.
+     *
+     * @param prefix long name prefix
+     * @return long names that start with {@code prefix}
+     */
+    public List<String> getAbbreviationCandidates(String prefix) {
+        return getLongNameIndex().complete(prefix);
+    }
+
+    /**
+     * Returns index of long names. The index is built once and then reused until the arguments list is changed.
+     *
+     * @return index of long names
+     */
+    @NotNull
+    NameTrie getLongNameIndex() {
+        validateCaches();
+        if (longNameIndex == null) {
+            longNameIndex = new NameTrie();
+            for (Argument arg : args) {
+                longNameIndex.add(arg.getLongName());
+            }
+        }
+        return longNameIndex;
+    }
+
     /**
      * Returns argument by short or long name.
      *
@@ -314,6 +797,106 @@ public class ArgumentStorage {
         }
     }
 
+    /**
+     * Returns argument by short or long name. Unlike {@link ArgumentStorage#getArgument(String)}, a missing
+     * argument is not an error, so this method is suitable for names from untrusted input.
+     *
+     * @param key short or long argument name
+     * @return argument by short or long name, {@code null} if {@code key} is {@code null} or no argument is found
+     */
+    @Nullable
+    public Argument findArgument(String key) {
+        return args.get(key);
+    }
+
+    /**
+     * Returns position of the argument in the order of adding.
+     *
+     * @param key short or long argument name
+     * @return position of the argument, -1 if {@code key} is {@code null} or no argument is found
+     */
+    public int ordinalOf(String key) {
+        return args.ordinalOf(key);
+    }
+
+    /**
+     * Returns index of arguments by UTF-8 encoded short and long names. The index is built once and then reused
+     * until the arguments list is changed.
+     *
+     * @return index of arguments by UTF-8 encoded names
+     */
+    @NotNull
+    ByteKeyIndex<Argument> getByteIndex() {
+        validateCaches();
+        if (byteIndex == null) {
+            byteIndex = new ByteKeyIndex<>(args.size() * 2);
+            for (Argument arg : args) {
+                byteIndex.put(arg.getShortName(), arg);
+                byteIndex.put(arg.getLongName(), arg);
+            }
+        }
+        return byteIndex;
+    }
+
+    /**
+     * Returns index of arguments by single-character ASCII short or long name: the argument with name {@code c}
+     * is at index {@code c}. The index is built once and then reused until the arguments list is changed.
+     *
+     * @return index of arguments by single-character names
+     */
+    @NotNull
+    Argument[] getCharIndex() {
+        validateCaches();
+        if (charIndex == null) {
+            charIndex = new Argument[128];
+            for (Argument arg : args) {
+                for (String name : new String[]{arg.getShortName(), arg.getLongName()}) {
+                    if (name != null && name.length() == 1 && name.charAt(0) < charIndex.length) {
+                        charIndex[name.charAt(0)] = arg;
+                    }
+                }
+            }
+        }
+        return charIndex;
+    }
+
+    /**
+     * Returns environment variable and property names of arguments. The names are built once and then reused
+     * until the arguments list is changed.
+     *
+     * @return environment variable and property names of arguments
+     * @see ValueLayers
+     */
+    @NotNull
+    SourceKeys getSourceKeys() {
+        validateCaches();
+        if (sourceKeys == null) {
+            sourceKeys = new SourceKeys(args, environmentPrefix);
+        }
+        return sourceKeys;
+    }
+
+    /**
+     * Set prefix of environment variable names of arguments. By default the prefix is empty.
+     *
+     * @param value prefix of environment variable names, f.e. {@code "APP_"}
+     * @see ValueLayers
+     */
+    public void setEnvironmentPrefix(@Nullable String value) {
+        environmentPrefix = value != null ? value : "";
+        revision++;
+    }
+
+    /**
+     * Returns prefix of environment variable names of arguments.
+     *
+     * @return prefix of environment variable names
+     */
+    @NotNull
+    public String getEnvironmentPrefix() {
+        return environmentPrefix;
+    }
+
     /**
      * Returns argument value as string.
      *
@@ -381,7 +964,12 @@ public class ArgumentStorage {
      */
     public ArgumentStorage add(Argument arg) {
         if (arg != null) {
+            int size = args.size();
             if (args.add(arg)) {
+                revision++;
+                if (args.size() > size) {
+                    arg.attach(epoch);
+                }
                 maxShortNameLength = Math.max(maxShortNameLength, arg.getShortName().length());
                 maxArgNameLength = Math.max(maxArgNameLength, arg.getParameters().length());
                 if (arg.getLongName() != null) {
@@ -392,6 +980,140 @@ public class ArgumentStorage {
         return this;
     }
 
+    /**
+     * Add all arguments of the collection. Arguments with the names that are already in the list are absorbed,
+     * like in {@link ArgumentStorage#add(Argument)}, but the names are matched by one hashed pass and the help
+     * layout counters are updated once, so large specifications are loaded in linear time.
+     *
+     * @param arguments arguments to add
+     * @return a reference to this object
+     */
+    public ArgumentStorage addAll(Collection<? extends Argument> arguments) {
+        if (arguments != null) {
+            int size = args.size();
+            if (args.addAll(arguments)) {
+                revision++;
+                for (int i = size; i < args.size(); i++) {
+                    args.get(i).attach(epoch);
+                }
+                int maxShort = maxShortNameLength, maxLong = maxLongNameLength, maxArg = maxArgNameLength;
+                for (Argument arg : arguments) {
+                    if (arg != null) {
+                        maxShort = Math.max(maxShort, arg.getShortName().length());
+                        maxArg = Math.max(maxArg, arg.getParameters().length());
+                        if (arg.getLongName() != null) {
+                            maxLong = Math.max(maxLong, arg.getLongName().length());
+                        }
+                    }
+                }
+                maxShortNameLength = maxShort;
+                maxLongNameLength = maxLong;
+                maxArgNameLength = maxArg;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Add positional argument. Positional arguments receive positional values in the order they were added:
+     * the first positional value is assigned to the first positional argument, and so on. A positional argument
+     * can also be declared by name. If the last positional argument is multi-valued, it receives all remaining
+     * positional values.
+     *
+     * @param arg argument to add
+     * @return a reference to this object
+     * @see ArgumentParser#parse(ArgumentStorage, String[])
+     */
+    public ArgumentStorage addPositional(Argument arg) {
+        if (arg != null) {
+            add(arg);
+            Argument added = args.get(arg.getShortName());
+            if (added != null && !positionalArguments.contains(added)) {
+                positionalArguments.add(added);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns arguments in order of adding.
+     *
+     * @return arguments
+     */
+    public List<Argument> getArguments() {
+        return new ArrayList<>(args);
+    }
+
+    /**
+     * Returns positional arguments in order of their positions.
+     *
+     * @return positional arguments
+     */
+    public List<Argument> getPositionalArguments() {
+        return new ArrayList<>(positionalArguments);
+    }
+
+    /**
+     * Set receiver of positional values beyond the positional arguments. The values are passed to the receiver
+     * as they are parsed and are not saved to the storage, so the number of values is not limited by memory.
+     * The value is a view of the parsed input; convert it to string if it must be kept.
+     *
+     * @param consumer receiver of positional values; if {@code null} - the values are saved to the storage
+     * @see ArgumentStorage#getPositionals()
+     */
+    public void setPositionalConsumer(@Nullable Consumer<CharSequence> consumer) {
+        positionalConsumer = consumer;
+    }
+
+    /**
+     * Returns positional values beyond the positional arguments saved while parsing. The values are converted
+     * to strings when the list elements are read.
+     *
+     * @return positional values beyond the positional arguments
+     * @see ArgumentStorage#setPositionalConsumer(Consumer)
+     */
+    public List<String> getPositionals() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return positionalValues.get(index).toString();
+            }
+
+            @Override
+            public int size() {
+                return positionalValues.size();
+            }
+        };
+    }
+
+    /**
+     * Is positional values processed while parsing: positional arguments are added or
+     * the receiver of positional values is set.
+     *
+     * @return {@code true} if positional values are processed while parsing
+     */
+    boolean isPositionalAccepted() {
+        return !positionalArguments.isEmpty() || positionalConsumer != null;
+    }
+
+    /**
+     * Process positional value.
+     *
+     * @param index position of the value
+     * @param value positional value
+     */
+    void acceptPositional(int index, CharSequence value) {
+        if (index < positionalArguments.size()) {
+            positionalArguments.get(index).setValueSlice(value);
+        } else if (!positionalArguments.isEmpty() && positionalArguments.get(positionalArguments.size() - 1).isMultiValued()) {
+            positionalArguments.get(positionalArguments.size() - 1).setValueSlice(value);
+        } else if (positionalConsumer != null) {
+            positionalConsumer.accept(value);
+        } else {
+            positionalValues.add(value);
+        }
+    }
+
     /**
      * Add dependency of one argument on another.
      *
@@ -499,8 +1221,9 @@ public class ArgumentStorage {
         }
 
         //Add arguments
+        List<Argument> arguments = new ArrayList<>(xmlWrapper.getArguments().size());
         for (Map<String, String> argumentData : xmlWrapper.getArguments()) {
-            add(new Argument(
+            arguments.add(new Argument(
                     argumentData.get("shortName"),
                     argumentData.get("longName"),
                     argumentData.get("valueDefault"),
@@ -509,8 +1232,10 @@ public class ArgumentStorage {
                     argumentData.get("parameters"),
                     processNewLineCharsXML(argumentData.get("description")),
                     processNewLineCharsXML(argumentData.get("descriptionDetailed"))
-            ));
+            ).setMultiValued(Boolean.parseBoolean(argumentData.get("isMultiValued")))
+                    .setEnvironmentVariable(argumentData.get("environment")));
         }
+        addAll(arguments);
 
         //Add dependencies
         for (String[] pair : xmlWrapper.getDependencies()) {
@@ -559,12 +1284,8 @@ public class ArgumentStorage {
      * @return is argument was been declared
      */
     public boolean isDeclared(String key) {
-        if (key == null) return false;
-        if (args.containsKey(key)) {
-            return args.get(key).isDeclared();
-        } else {
-            return false;
-        }
+        Argument arg = args.get(key);
+        return arg != null && arg.isDeclared();
     }
 
     /**
@@ -659,18 +1380,61 @@ public class ArgumentStorage {
         }
     }
 
+    /**
+     * Returns if the arguments specification is consistent: there is at least one set of declared arguments
+     * that satisfies all requirements and conflicts, and each argument can be declared without violating them.
+     * If the specification is not consistent, saves an explanatory message that can be obtained by the method
+     * {@link ArgumentStorage#getMessage()}.
+     *
+     * <p>The check does not depend on parsing and can be performed right after the specification is defined.</p>
+     *
+     * @return {@code true} if the arguments specification is consistent, otherwise returns {@code false}
+     * @see ConsistencyAnalyzer
+     */
+    public boolean isConsistent() {
+        ReturnedBoolean result = new ConsistencyAnalyzer(args, reqLinks, confLinks).analyze();
+        lastMessage = result.getMessage();
+        return result.getResult();
+    }
+
     /**
      * Returns if there all custom argument rules are passed.
      *
      * @return {@code true} if all custom argument rules are passed, otherwise returns {@code false}.
      */
     public boolean isRulesSatisfied() {
+        boolean[] satisfied = new boolean[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            satisfied[i] = rules.get(i).isSatisfied();
+        }
+        return mergeRulesResults(satisfied);
+    }
+
+    /**
+     * Returns if there all custom argument rules are passed. Costly rules ({@link Rule#isCostly()}) are checked
+     * in parallel on the {@code executor}, see {@link RuleEvaluator} for details.
+     *
+     * @param executor executor for costly rules; if {@code null} - the common {@link java.util.concurrent.ForkJoinPool}
+     *                 will be used
+     * @return {@code true} if all custom argument rules are passed, otherwise returns {@code false}.
+     */
+    public boolean isRulesSatisfied(@Nullable Executor executor) {
+        return mergeRulesResults(new RuleEvaluator(executor).evaluate(rules));
+    }
+
+    /**
+     * Merge rules results and save dissatisfaction messages in the order of rules declaration.
+     *
+     * @param satisfied results of rules in the order of {@link ArgumentStorage#rules}
+     * @return {@code true} if all custom argument rules are passed, otherwise returns {@code false}.
+     */
+    private boolean mergeRulesResults(boolean[] satisfied) {
         StringBuilder sb = new StringBuilder();
         boolean result = true;
-        for (Rule rule : rules) {
-            if (!rule.isSatisfied()) {
+        for (int i = 0; i < satisfied.length; i++) {
+            if (!satisfied[i]) {
                 result = false;
-                sb.append(rule.getMessage());
+                sb.append(rules.get(i).getMessage());
             }
         }
         lastMessage = sb.toString();
@@ -678,12 +1442,19 @@ public class ArgumentStorage {
     }
 
     /**
-     * Set all arguments values to {@code null} and not declared.
+     * Set all arguments values to {@code null} and not declared, forget undefined names and positional values found
+     * while parsing.
+     *
+     * <p>The arguments are not visited: the method starts a new generation of parsing results, and values assigned
+     * in the previous generations read as not declared. So the cost of the reset does not depend on the number of
+     * arguments, which makes it cheap to reuse one storage for many command lines.</p>
+     *
+     * @see ArgumentStoragePool
      */
     public void clearValues() {
-        for (Argument arg : args) {
-            arg.setDeclared(false).setValue(null);
-        }
+        epoch.next();
+        clearUnknown();
+        positionalValues.clear();
     }
 
     /**
@@ -724,16 +1495,34 @@ public class ArgumentStorage {
         maxLongNameLength = 5;
         maxArgNameLength = 1;
 
-        printArgumentTemplate = "";
+        revision++;
+        clearUnknown();
+        createdArguments.clear();
+        positionalArguments.clear();
+        positionalValues.clear();
 
         lastMessage = null;
     }
 
     /**
-     * Build parameter print template {@link ArgumentStorage#printArgumentTemplate}.
+     * Drop the rendered help and the indexes if the arguments list, the project info or metadata of any argument
+     * has been changed since they were built. Arguments report their changes to the shared {@link ParseEpoch},
+     * so the check takes constant time.
      */
-    private void buildParametersHelpTemplate() {
-        printArgumentTemplate = "  " + "%1s" + "%-" + (maxShortNameLength + 1) + "s " + "%2s" + "%-" + maxLongNameLength + "s %-" + maxArgNameLength + "s %s";
+    private void validateCaches() {
+        int modifications = epoch.getModifications();
+        if (cacheRevision != revision || cacheModifications != modifications) {
+            help = null;
+            helpDetails.clear();
+            helpIndex = null;
+            nameIndex = null;
+            longNameIndex = null;
+            byteIndex = null;
+            charIndex = null;
+            sourceKeys = null;
+            cacheRevision = revision;
+            cacheModifications = modifications;
+        }
     }
 
     /**
@@ -744,6 +1533,9 @@ public class ArgumentStorage {
      * <p>If {@code helpArgName} is {@code null} - returned value depending on the state of the system help argument
      * {@link ArgumentStorage#HELP_SHORT_NAME}.</p>
      *
+     * <p>If the help argument value is not a name of any argument, it is used as keywords for
+     * {@link ArgumentStorage#searchHelp(String)} and the matching arguments are returned.</p>
+     *
      * @param helpArgName help argument short name
      * @return help info text if argument {@code helpShortName} is declared, otherwise return {@code null}
      */
@@ -756,7 +1548,14 @@ public class ArgumentStorage {
         }
         if (isDefined(helpArg)) {
             if (isFilled(helpArg)) {
-                return getHelp(getArgument(helpArg).getValue());
+                String key = getArgument(helpArg).getValue();
+                if (!isDefined(key)) {
+                    List<Argument> found = searchHelp(key);
+                    if (!found.isEmpty()) {
+                        return getHelp(found);
+                    }
+                }
+                return getHelp(key);
             } else if (isDeclared(helpArg)) {
                 return getHelp();
             }
@@ -765,67 +1564,135 @@ public class ArgumentStorage {
     }
 
     /**
-     * Returns help info string.
+     * Returns help info string. The help is rendered once and then reused until the arguments list,
+     * the project info or metadata of any argument is changed.
      *
      * @return help info string
      */
     public String getHelp() {
-        StringBuilder builder = new StringBuilder();
-        if (description != null) {
-            builder.append(description).append("\n\n");
+        validateCaches();
+        if (help == null) {
+            StringBuilder builder = new StringBuilder();
+            try {
+                writeHelp(builder, null);
+            } catch (IOException ignored) {
+                //StringBuilder never throws IOException
+            }
+            help = builder.toString();
         }
-        if (usage != null) {
-            builder.append("Usage : \n").append(usage).append("\n\n");
+        return help;
+    }
+
+    /**
+     * Returns help rows of the arguments.
+     *
+     * @param arguments arguments
+     * @return help rows of the arguments
+     */
+    private String getHelp(List<Argument> arguments) {
+        StringBuilder builder = new StringBuilder();
+        HelpWriter writer = new HelpWriter(builder);
+        try {
+            writer.writeParametersTitle();
+            for (Argument arg : arguments) {
+                writer.writeArgument(arg, maxShortNameLength, maxLongNameLength, maxArgNameLength);
+            }
+        } catch (IOException ignored) {
+            //StringBuilder never throws IOException
         }
-        if (example != null) {
-            builder.append("Examples : \n").append(example).append("\n\n");
+        return builder.toString();
+    }
+
+    /**
+     * Returns arguments which names or descriptions contain all keywords of the {@code query}, ranked by relevance.
+     * A keyword matches a word if it is equal to the word or is its prefix. The search index is built once and then
+     * reused until the arguments list or metadata of any argument is changed.
+     *
+     * @param query keywords
+     * @return matching arguments, the most relevant first
+     * @see HelpIndex
+     */
+    public List<Argument> searchHelp(String query) {
+        validateCaches();
+        if (helpIndex == null) {
+            helpIndex = new HelpIndex(args);
         }
-        if (args.size() > 0) {
-            buildParametersHelpTemplate();
-            builder.append("Parameters : ").append('\n');
+        return helpIndex.search(query);
+    }
 
-            for (Argument arg : args) {
-                if (arg.getLongName() != null) {
-                    builder.append(String.format(printArgumentTemplate, "-", arg.getShortName() +
-                                    ",", "--", arg.getLongName(), arg.getParameters(),
-                            (arg.isRequiredBeDeclared() ? "[Required] " : "") + arg.getDescription())).append("\n");
-                } else {
-                    builder.append(String.format(printArgumentTemplate, "-", arg.getShortName() +
-                                    ",", "  ", "", arg.getParameters(),
-                            (arg.isRequiredBeDeclared() ? "[Required] " : "") + arg.getDescription())).append("\n");
-                }
+    /**
+     * Write help info to {@code out} row by row, without building the whole help text in memory.
+     *
+     * @param out    target to write help to, f.e. {@link java.io.Writer} or {@link java.io.PrintStream}
+     * @param layout help output settings: terminal width, arguments filter and paging; if {@code null} -
+     *               the output will be the same as {@link ArgumentStorage#getHelp()}
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeHelp(Appendable out, @Nullable HelpLayout layout) throws IOException {
+        if (layout == null) {
+            layout = new HelpLayout();
+        }
+        HelpWriter writer = new HelpWriter(out);
+        if (layout.isInfoIncluded()) {
+            writer.writeInfo(description, usage, example);
+        }
+        int skipped = 0;
+        int written = 0;
+        for (Argument arg : args) {
+            if (written >= layout.getLimit()) {
+                break;
+            } else if (!layout.isMatches(arg)) {
+                continue;
+            } else if (skipped < layout.getOffset()) {
+                skipped++;
+                continue;
+            }
+            if (written == 0) {
+                writer.writeParametersTitle();
             }
+            writer.writeArgument(arg, maxShortNameLength, maxLongNameLength, maxArgNameLength, layout.getWidth());
+            written++;
         }
-        return builder.toString();
     }
 
     /**
-     * Returns detailed description about argument.
+     * Returns detailed description about argument. The description is rendered once and then reused
+     * until the arguments list or metadata of any argument is changed.
      *
      * @param key argument short or long name
      * @return detailed description about argument
      */
     public String getHelp(String key) {
-        Argument argument;
-        try {
-            argument = getArgument(key);
-        } catch (ArgumentNotFoundException e) {
+        Argument argument = findArgument(key);
+        if (argument == null) {
             return String.format("Argument with name <%s> not found.", key);
         }
-        StringBuilder builder = new StringBuilder();
-        builder.append("Short name : ").append(argument.getShortName()).append('\n')
-                .append("Full name : ").append((argument.getLongName() != null ? argument.getLongName() : "")).append('\n')
-                .append("Required : ").append((argument.isRequiredBeDeclared() ? "Yes" : "No")).append('\n');
-        if (argument.getParameters().length() > 0) {
-            builder.append("Parameter : ").append(argument.getParameters()).append('\n');
-        }
-        builder.append("Description : ");
-        if (!argument.getDescriptionDetailed().equals("")) {
-            builder.append(argument.getDescriptionDetailed());
-        } else if (!argument.getDescription().equals("")) {
-            builder.append(argument.getDescription());
+        validateCaches();
+        String details = helpDetails.get(argument);
+        if (details == null) {
+            StringBuilder builder = new StringBuilder();
+            try {
+                new HelpWriter(builder).writeDetails(argument);
+            } catch (IOException ignored) {
+                //StringBuilder never throws IOException
+            }
+            details = builder.toString();
+            helpDetails.put(argument, details);
         }
-        return builder.toString();
+        return details;
+    }
+
+    /**
+     * Returns content fingerprint of the storage: project info, arguments, conflicts and requirements.
+     * Equal storages have equal fingerprints; different fingerprints mean that the storages are not equal.
+     * Custom rules and settings are not included, like in {@link ArgumentStorage#equals(Object)}.
+     *
+     * @return content fingerprint
+     */
+    @NotNull
+    public Fingerprint getFingerprint() {
+        return Fingerprint.EMPTY.then(String.valueOf(description)).then(String.valueOf(usage)).then(String.valueOf(example))
+                .then(args.getFingerprint()).then(confLinks.getFingerprint()).then(reqLinks.getFingerprint());
     }
 
     @Override
@@ -855,4 +1722,57 @@ public class ArgumentStorage {
         }
         return reqLinks.equals(another.reqLinks);
     }
+
+    /**
+     * Environment variable and property names of arguments, in the order of the arguments list.
+     *
+     * <p>The property name is the long name of the argument, or the short name if the long name is not set.
+     * The environment variable name is the prefix followed by the property name in upper case, where each
+     * character except letters and digits is replaced with {@code '_'}: with the prefix {@code "APP_"}
+     * the argument {@code log-level} is read from {@code APP_LOG_LEVEL}. The environment variable bound to the
+     * argument by {@link Argument#setEnvironmentVariable(String)} is used instead of the built name.</p>
+     *
+     * <p>Arguments with bound environment variables are also listed separately, so that only these variables
+     * are read by {@link ArgumentParser#parseEnvironment(ArgumentStorage)}.</p>
+     */
+    static final class SourceKeys {
+        final Argument[] arguments;
+        final String[] environment;
+        final String[] properties;
+        final Argument[] boundArguments;
+        final String[] boundVariables;
+
+        SourceKeys(ArgumentList args, String prefix) {
+            arguments = new Argument[args.size()];
+            environment = new String[arguments.length];
+            properties = new String[arguments.length];
+            int i = 0;
+            int bound = 0;
+            for (Argument arg : args) {
+                String name = arg.getLongName() != null ? arg.getLongName() : arg.getShortName();
+                StringBuilder sb = new StringBuilder(prefix.length() + name.length()).append(prefix);
+                for (int j = 0; j < name.length(); j++) {
+                    char c = name.charAt(j);
+                    sb.append(Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+                }
+                arguments[i] = arg;
+                environment[i] = arg.getEnvironmentVariable() != null ? arg.getEnvironmentVariable() : sb.toString();
+                properties[i] = name;
+                if (arg.getEnvironmentVariable() != null) {
+                    bound++;
+                }
+                i++;
+            }
+            boundArguments = new Argument[bound];
+            boundVariables = new String[bound];
+            bound = 0;
+            for (Argument arg : arguments) {
+                if (arg.getEnvironmentVariable() != null) {
+                    boundArguments[bound] = arg;
+                    boundVariables[bound] = arg.getEnvironmentVariable();
+                    bound++;
+                }
+            }
+        }
+    }
 }
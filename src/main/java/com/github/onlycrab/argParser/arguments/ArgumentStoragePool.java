@@ -0,0 +1,251 @@
+package com.github.onlycrab.argParser.arguments;
+
+import com.github.onlycrab.argParser.arguments.dependencies.ReturnedBoolean;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe pool of storages with the same specification for request-scoped parsing.
+ *
+ * <p>Building a storage (f.e. reading the specification from XML) is much more expensive than parsing a command
+ * line, so the storages are reused: {@link ArgumentStoragePool#acquire()} takes an idle storage or creates a new one
+ * by the factory, {@link ArgumentStoragePool#release(ArgumentStorage)} resets parsing results by
+ * {@link ArgumentStorage#clearValues()}, removes arguments created for undefined names
+ * (see {@link UnknownArgumentPolicy#CREATE}) and returns the storage to the pool.</p>
+ *
+ * <p>A storage must not be used after it has been released. The number of idle storages is limited, storages
+ * released over the limit are left to the garbage collector.</p>
+ *
+ * <p>Many command lines can be parsed in parallel by {@link ArgumentStoragePool#parseAll(List)}: the lines are split
+ * into ranges processed on a {@link ForkJoinPool}, and each range is parsed with one storage from the pool.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ArgumentStoragePool {
+    /**
+     * Default maximum number of idle storages
+     */
+    public static final int DEFAULT_MAX_IDLE = 64;
+
+    /**
+     * Factory of new storages
+     */
+    private final Supplier<ArgumentStorage> factory;
+
+    /**
+     * Maximum number of idle storages
+     */
+    private final int maxIdle;
+
+    /**
+     * Idle storages
+     */
+    private final Queue<ArgumentStorage> idle;
+
+    /**
+     * Number of idle storages
+     */
+    private final AtomicInteger idleCount;
+
+    /**
+     * Maximum number of command lines parsed by one task of {@link ArgumentStoragePool#parseAll(List)}
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Create new pool with {@link ArgumentStoragePool#DEFAULT_MAX_IDLE} maximum idle storages.
+     *
+     * @param factory factory of new storages
+     */
+    public ArgumentStoragePool(Supplier<ArgumentStorage> factory) {
+        this(factory, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * Create new pool.
+     *
+     * @param factory factory of new storages
+     * @param maxIdle maximum number of idle storages
+     * @throws IllegalArgumentException if {@code factory} is {@code null} or {@code maxIdle} is negative
+     */
+    public ArgumentStoragePool(Supplier<ArgumentStorage> factory, int maxIdle) {
+        if (factory == null) throw new IllegalArgumentException("Parameter <factory> is null.");
+        if (maxIdle < 0) throw new IllegalArgumentException("Parameter <maxIdle> is negative.");
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        idle = new ConcurrentLinkedQueue<>();
+        idleCount = new AtomicInteger();
+    }
+
+    /**
+     * Returns idle storage or creates a new one.
+     *
+     * @return storage without parsing results
+     * @throws IllegalStateException if the factory returned {@code null}
+     */
+    @NotNull
+    public ArgumentStorage acquire() {
+        ArgumentStorage storage = idle.poll();
+        if (storage != null) {
+            idleCount.decrementAndGet();
+            return storage;
+        }
+        storage = factory.get();
+        if (storage == null) throw new IllegalStateException("Storage factory returned null.");
+        return storage;
+    }
+
+    /**
+     * Reset parsing results of the storage, remove arguments created while parsing and return it to the pool.
+     *
+     * @param storage storage acquired from this pool; if {@code null} - do nothing
+     */
+    public void release(ArgumentStorage storage) {
+        if (storage == null) {
+            return;
+        }
+        reset(storage);
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(storage);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reset parsing results of the storage and remove arguments created while parsing.
+     *
+     * @param storage storage to reset
+     */
+    private static void reset(ArgumentStorage storage) {
+        storage.removeCreatedArguments();
+        storage.clearValues();
+    }
+
+    /**
+     * Returns the number of idle storages.
+     *
+     * @return the number of idle storages
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Parse and validate command lines in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param commandLines command lines to parse
+     * @return results of validation in the order of command lines
+     * @see ArgumentStoragePool#parseAll(List, Function, ForkJoinPool)
+     */
+    @NotNull
+    public List<ReturnedBoolean> parseAll(List<String[]> commandLines) {
+        return parseAll(commandLines, ArgumentStoragePool::validate, null);
+    }
+
+    /**
+     * Parse command lines in parallel and collect results. Each command line is parsed by
+     * {@link ArgumentParser#parse(ArgumentStorage, String[])} into a storage without parsing results,
+     * then the {@code collector} is called with this storage.
+     *
+     * <p>The storage is reused for the next command line after the {@code collector} returns, so the result
+     * must not refer to the storage or its arguments. The {@code collector} is called concurrently from
+     * several threads, each time with a different storage.</p>
+     *
+     * @param commandLines command lines to parse
+     * @param collector    function that extracts the result from the storage
+     * @param executor     pool for parsing; if {@code null} - the common {@link ForkJoinPool} will be used
+     * @param <T>          type of result
+     * @return results in the order of command lines
+     * @throws IllegalArgumentException if {@code commandLines} or {@code collector} is {@code null}
+     */
+    @NotNull
+    public <T> List<T> parseAll(List<String[]> commandLines, Function<ArgumentStorage, T> collector, @Nullable ForkJoinPool executor) {
+        if (commandLines == null) throw new IllegalArgumentException("Parameter <commandLines> is null.");
+        if (collector == null) throw new IllegalArgumentException("Parameter <collector> is null.");
+        Object[] results = new Object[commandLines.size()];
+        if (results.length > 0) {
+            ParseTask task = new ParseTask(commandLines, collector, results, 0, results.length);
+            (executor != null ? executor : ForkJoinPool.commonPool()).invoke(task);
+        }
+        @SuppressWarnings("unchecked")
+        List<T> list = (List<T>) Arrays.asList(results);
+        return list;
+    }
+
+    /**
+     * Validate parsing results of the storage: undefined names, required arguments, conflicts and custom rules.
+     *
+     * @param storage storage with parsing results
+     * @return result of validation with explanatory messages
+     */
+    private static ReturnedBoolean validate(ArgumentStorage storage) {
+        ReturnedBoolean result = new ReturnedBoolean(true);
+        if (storage.isUnknownDeclared()) {
+            result.addResult(null, false).addMessage(storage.getMessage().trim());
+        }
+        if (!storage.isRequireFilled()) {
+            result.addResult(null, false).addMessage(storage.getMessage().trim());
+        }
+        if (storage.isConflict()) {
+            result.addResult(null, false).addMessage(storage.getMessage().trim());
+        }
+        if (!storage.isRulesSatisfied()) {
+            result.addResult(null, false).addMessage(storage.getMessage().trim());
+        }
+        return result;
+    }
+
+    /**
+     * Task that parses a range of command lines with one storage, or splits the range in half.
+     */
+    private class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String[]> commandLines;
+        private final Function<ArgumentStorage, ?> collector;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+
+        ParseTask(List<String[]> commandLines, Function<ArgumentStorage, ?> collector, Object[] results, int from, int to) {
+            this.commandLines = commandLines;
+            this.collector = collector;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(commandLines, collector, results, from, middle),
+                        new ParseTask(commandLines, collector, results, middle, to));
+                return;
+            }
+            ArgumentStorage storage = acquire();
+            try {
+                for (int i = from; i < to; i++) {
+                    ArgumentParser.parse(storage, commandLines.get(i));
+                    results[i] = collector.apply(storage);
+                    reset(storage);
+                }
+            } finally {
+                release(storage);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.onlycrab.argParser.arguments;
+
+/**
+ * Generation counter of parsing results and modification counter of metadata shared by the arguments of one storage.
+ *
+ * <p>Each argument stamps its value and declaration with the generation they were assigned in. Values stamped
+ * with an older generation are stale and read as not declared, so starting a new generation resets
+ * all arguments at once, without visiting them.</p>
+ *
+ * <p>Each argument also reports changes of its metadata to the counter, so the storage checks its caches
+ * by one comparison, without visiting the arguments.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see ArgumentStorage#clearValues()
+ */
+final class ParseEpoch {
+    /**
+     * Current generation
+     */
+    private long current;
+
+    /**
+     * Number of metadata changes of the arguments
+     */
+    private int modifications;
+
+    /**
+     * Returns current generation.
+     *
+     * @return current generation
+     */
+    long get() {
+        return current;
+    }
+
+    /**
+     * Start a new generation. All values assigned before become stale.
+     */
+    void next() {
+        current++;
+    }
+
+    /**
+     * Returns number of metadata changes of the arguments.
+     *
+     * @return number of metadata changes
+     */
+    int getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Register a metadata change of an argument.
+     */
+    void modified() {
+        modifications++;
+    }
+}
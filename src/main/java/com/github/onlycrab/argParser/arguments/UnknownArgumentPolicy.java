@@ -0,0 +1,34 @@
+package com.github.onlycrab.argParser.arguments;
+
+/**
+ * Policy of processing argument names that are not defined in the {@link ArgumentStorage}.
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see ArgumentStorage#setUnknownArgumentPolicy(UnknownArgumentPolicy)
+ */
+public enum UnknownArgumentPolicy {
+    /**
+     * A new argument is created and added to the storage (default behaviour).
+     * The number of created arguments is not limited, so this policy is not suitable for untrusted input.
+     */
+    CREATE,
+
+    /**
+     * The argument and its value are skipped.
+     */
+    IGNORE,
+
+    /**
+     * The argument and its value are saved to the separate list, which can be obtained by
+     * {@link ArgumentStorage#getUnknownArguments()}. The arguments are not added to the storage.
+     */
+    COLLECT,
+
+    /**
+     * The argument and its value are not added to the storage, the name is saved as unknown.
+     * Use {@link ArgumentStorage#isUnknownDeclared()} after parsing to check for unknown names and get
+     * "did you mean" suggestions.
+     */
+    REJECT
+}
@@ -0,0 +1,185 @@
+package com.github.onlycrab.argParser.arguments;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Layered sources of argument values with an explicit precedence order.
+ *
+ * <p>Values can come from the command line, environment variables, properties and default values of arguments.
+ * {@link ValueLayers#resolve(ArgumentStorage)} parses the command line and then visits each argument once, taking
+ * the value from the first source in the precedence order that has it. The source of each value can be obtained by
+ * {@link Argument#getValueSource()}. Sources that are not listed in the precedence order are not used.</p>
+ *
+ * <p>Environment variable and property names of the arguments are built once by the storage and reused until
+ * the arguments list is changed, see {@link ArgumentStorage#setEnvironmentPrefix(String)}. Only the variables and
+ * properties of defined arguments are looked up; other entries of the maps are not visited.</p>
+ *
+ * <p>Only the command line declares arguments: values from other sources are recorded with their source, but
+ * {@link Argument#isDeclared()} stays {@code false}. The default value is applied to an argument that has no value
+ * in the other sources, even if the argument is not declared on the command line; such an argument is not checked
+ * by dependencies and conflicts (see {@link Argument#isSpecified()}).</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class ValueLayers {
+    /**
+     * Sources in the order of precedence, the highest first
+     */
+    private final ValueSource[] precedence;
+
+    /**
+     * Command line arguments
+     */
+    private String[] commandLine;
+
+    /**
+     * Environment variables
+     */
+    private Map<String, String> environment;
+
+    /**
+     * Properties
+     */
+    private Map<?, ?> properties;
+
+    /**
+     * Create new layers with the precedence: command line, environment, properties, default values.
+     */
+    public ValueLayers() {
+        this(ValueSource.COMMAND_LINE, ValueSource.ENVIRONMENT, ValueSource.PROPERTIES, ValueSource.DEFAULT);
+    }
+
+    /**
+     * Create new layers.
+     *
+     * @param precedence sources in the order of precedence, the highest first
+     * @throws IllegalArgumentException if {@code precedence} contains {@code null} or duplicates
+     */
+    public ValueLayers(ValueSource... precedence) {
+        boolean[] isListed = new boolean[ValueSource.values().length];
+        for (ValueSource source : precedence) {
+            if (source == null) throw new IllegalArgumentException("Parameter <precedence> contains null.");
+            if (isListed[source.ordinal()]) throw new IllegalArgumentException("Source <" + source + "> is duplicated.");
+            isListed[source.ordinal()] = true;
+        }
+        this.precedence = precedence.clone();
+    }
+
+    /**
+     * Set command line arguments.
+     *
+     * @param args command line arguments
+     * @return a reference to this object
+     */
+    public ValueLayers setCommandLine(@Nullable String[] args) {
+        commandLine = args;
+        return this;
+    }
+
+    /**
+     * Set environment variables, f.e. {@link System#getenv()}.
+     *
+     * @param variables environment variables
+     * @return a reference to this object
+     */
+    public ValueLayers setEnvironment(@Nullable Map<String, String> variables) {
+        environment = variables;
+        return this;
+    }
+
+    /**
+     * Set properties, f.e. {@link java.util.Properties} loaded from a configuration file.
+     *
+     * @param values properties
+     * @return a reference to this object
+     */
+    public ValueLayers setProperties(@Nullable Map<?, ?> values) {
+        properties = values;
+        return this;
+    }
+
+    /**
+     * Returns sources in the order of precedence.
+     *
+     * @return sources in the order of precedence, the highest first
+     */
+    public ValueSource[] getPrecedence() {
+        return precedence.clone();
+    }
+
+    /**
+     * Parse the command line and assign each argument the value from the source with the highest precedence.
+     * Previous results of parsing are cleared first.
+     *
+     * @param storage object where the argument data will be written
+     */
+    public void resolve(ArgumentStorage storage) {
+        if (storage == null) {
+            return;
+        }
+        storage.clearValues();
+        if (commandLine != null && isListed(ValueSource.COMMAND_LINE)) {
+            ArgumentParser.parse(storage, commandLine);
+        }
+        ArgumentStorage.SourceKeys keys = storage.getSourceKeys();
+        for (int i = 0; i < keys.arguments.length; i++) {
+            Argument arg = keys.arguments[i];
+            for (ValueSource source : precedence) {
+                if (apply(arg, source, keys.environment[i], keys.properties[i])) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Is source listed in the precedence order.
+     *
+     * @param source source to check
+     * @return {@code true} if the source is used
+     */
+    private boolean isListed(ValueSource source) {
+        for (ValueSource listed : precedence) {
+            if (listed == source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Assign the argument the value from the source.
+     *
+     * @param arg      target argument
+     * @param source   source of the value
+     * @param variable environment variable name of the argument
+     * @param property property name of the argument
+     * @return {@code true} if the source has the value
+     */
+    private boolean apply(Argument arg, ValueSource source, String variable, String property) {
+        Object value = null;
+        switch (source) {
+            case COMMAND_LINE:
+                //Only the command line declares arguments, a flag without value is also taken
+                return arg.isDeclared();
+            case ENVIRONMENT:
+                value = environment != null ? environment.get(variable) : null;
+                break;
+            case PROPERTIES:
+                value = properties != null ? properties.get(property) : null;
+                break;
+            case DEFAULT:
+                value = arg.getValueDefault();
+                break;
+        }
+        if (value == null) {
+            return false;
+        }
+        arg.setLayeredValue(value.toString(), source);
+        return true;
+    }
+}
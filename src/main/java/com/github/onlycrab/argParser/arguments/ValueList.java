@@ -0,0 +1,100 @@
+package com.github.onlycrab.argParser.arguments;
+
+import java.util.Arrays;
+
+/**
+ * Compact list of values of a multi-valued argument.
+ *
+ * <p>Characters of all values are stored one after another in a single character buffer, and the end offset
+ * of each value is stored in an {@code int} array, so an occurrence costs no more than its characters and one
+ * offset. Strings are created only when the values are read.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+class ValueList {
+    /**
+     * Characters of the values
+     */
+    private char[] chars = new char[32];
+
+    /**
+     * Offset after the last character of each value
+     */
+    private int[] ends = new int[4];
+
+    /**
+     * Number of values
+     */
+    private int size;
+
+    /**
+     * Append value.
+     *
+     * @param value value to append
+     */
+    void add(CharSequence value) {
+        int start = size == 0 ? 0 : ends[size - 1];
+        int length = value.length();
+        if (start + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, start + length));
+        }
+        if (value instanceof String) {
+            ((String) value).getChars(0, length, chars, start);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[start + i] = value.charAt(i);
+            }
+        }
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        ends[size++] = start + length;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns value at the position.
+     *
+     * @param index position of the value
+     * @return value at the position
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        int start = index == 0 ? 0 : ends[index - 1];
+        return new String(chars, start, ends[index] - start);
+    }
+
+    /**
+     * Returns all values as array.
+     *
+     * @return all values
+     */
+    String[] toArray() {
+        String[] values = new String[size];
+        int start = 0;
+        for (int i = 0; i < size; i++) {
+            values[i] = new String(chars, start, ends[i] - start);
+            start = ends[i];
+        }
+        return values;
+    }
+
+    /**
+     * Remove all values. Buffers are kept for reuse.
+     */
+    void clear() {
+        size = 0;
+    }
+}
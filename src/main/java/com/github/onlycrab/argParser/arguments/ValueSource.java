@@ -0,0 +1,31 @@
+package com.github.onlycrab.argParser.arguments;
+
+/**
+ * Source of an argument value.
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see Argument#getValueSource()
+ * @see ValueLayers
+ */
+public enum ValueSource {
+    /**
+     * The value was passed on the command line.
+     */
+    COMMAND_LINE,
+
+    /**
+     * The value was read from an environment variable.
+     */
+    ENVIRONMENT,
+
+    /**
+     * The value was read from properties (f.e. a configuration file).
+     */
+    PROPERTIES,
+
+    /**
+     * The value is the default value of the argument.
+     */
+    DEFAULT
+}
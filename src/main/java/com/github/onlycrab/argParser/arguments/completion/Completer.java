@@ -0,0 +1,85 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.ArgumentStorage;
+import com.github.onlycrab.argParser.arguments.index.NameTrie;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion of argument names and enumerated values.
+ *
+ * <p>The names and the values are put into prefix trees when the completer is created, so a query takes time
+ * proportional to the length of the prefix and the number of results, regardless of the number of arguments.
+ * Later changes of the storage are not visible to the completer. A created completer is not changed, so it can be
+ * used by several threads.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see CompletionService
+ */
+public class Completer {
+    /**
+     * Names with dashes: {@code -<shortName>} and {@code --<longName>}
+     */
+    private final NameTrie names = new NameTrie();
+
+    /**
+     * Enumerated values of arguments by names with dashes
+     */
+    private final Map<String, NameTrie> values = new HashMap<>();
+
+    /**
+     * Create new completer.
+     *
+     * @param storage arguments specification
+     * @throws IllegalArgumentException if {@code storage} is {@code null}
+     */
+    public Completer(ArgumentStorage storage) {
+        if (storage == null) throw new IllegalArgumentException("Parameter <storage> is null.");
+        for (Argument arg : storage.getArguments()) {
+            names.add("-" + arg.getShortName());
+            if (arg.getLongName() != null) {
+                names.add("--" + arg.getLongName());
+            }
+            ValueHint hint = ValueHint.of(arg);
+            if (hint.values.length > 0) {
+                NameTrie trie = new NameTrie();
+                for (String value : hint.values) {
+                    trie.add(value);
+                }
+                values.put("-" + arg.getShortName(), trie);
+                if (arg.getLongName() != null) {
+                    values.put("--" + arg.getLongName(), trie);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns completions of the word. If the previous word is an argument with enumerated values, the values
+     * that start with the word are returned. Otherwise, if the word starts with {@code -}, the argument names
+     * that start with the word are returned.
+     *
+     * @param previous previous word of the command line
+     * @param current  word to complete
+     * @return completions in alphabetical order; empty list if nothing is known about the word
+     */
+    public List<String> complete(@Nullable String previous, @Nullable String current) {
+        String prefix = current != null ? current : "";
+        if (previous != null) {
+            NameTrie trie = values.get(previous);
+            if (trie != null) {
+                return trie.complete(prefix);
+            }
+        }
+        if (prefix.startsWith("-")) {
+            return names.complete(prefix);
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.ArgumentStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Generator of shell completion scripts.
+ *
+ * <p>Static scripts contain all argument names and enumerated values, so the shell completes them without
+ * starting the program. Argument values are completed according to the parameters info of the arguments,
+ * see {@link ValueHint}. The scripts are generated once, f.e. while building the program, and installed as usual:
+ * the bash script is sourced from {@code ~/.bashrc} or put to {@code bash_completion.d}, the zsh script is put
+ * to a directory from {@code $fpath} as {@code _<command>}.</p>
+ *
+ * <p>Argument names are written to the scripts without quoting, so they can contain only letters, digits and
+ * {@code . _ + -}; the names accepted by {@link com.github.onlycrab.argParser.arguments.ArgumentParser} always
+ * satisfy this. Other names are rejected.</p>
+ *
+ * <p>If the completion depends on more than the specification, {@link CompletionScript#bashClient(String, int)}
+ * generates a script that asks a running {@link CompletionService}.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CompletionScript {
+    /**
+     * A pattern to check if a command or argument name can be written to a script without quoting
+     */
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9._+-]+");
+
+    private CompletionScript() {
+    }
+
+    /**
+     * Returns bash completion script.
+     *
+     * @param storage arguments specification
+     * @param command name of the program as it is typed in the shell
+     * @return bash completion script
+     * @throws IllegalArgumentException if {@code storage} or {@code command} is {@code null};
+     *                                  if {@code command} or any argument name contains characters other than
+     *                                  letters, digits and {@code . _ + -}
+     */
+    @NotNull
+    public static String bash(ArgumentStorage storage, String command) {
+        checkCommand(command);
+        List<Argument> arguments = getArguments(storage);
+        String function = functionName(command);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# bash completion for ").append(command).append("\n");
+        sb.append(function).append("() {\n");
+        sb.append("    local cur=\"${COMP_WORDS[COMP_CWORD]}\" prev=\"${COMP_WORDS[COMP_CWORD-1]}\"\n");
+        sb.append("    COMPREPLY=()\n");
+        sb.append("    case \"$prev\" in\n");
+        for (Argument arg : arguments) {
+            ValueHint hint = ValueHint.of(arg);
+            if (!hint.isCompleted()) {
+                continue;
+            }
+            sb.append("        -").append(arg.getShortName());
+            if (arg.getLongName() != null) {
+                sb.append("|--").append(arg.getLongName());
+            }
+            sb.append(")\n            COMPREPLY=($(compgen ");
+            if (hint.isFile) {
+                sb.append("-f");
+            } else if (hint.isDirectory) {
+                sb.append("-d");
+            } else {
+                sb.append("-W \"").append(String.join(" ", hint.values)).append("\"");
+            }
+            sb.append(" -- \"$cur\"))\n            return 0\n            ;;\n");
+        }
+        sb.append("    esac\n");
+        sb.append("    if [[ \"$cur\" == -* ]]; then\n");
+        sb.append("        COMPREPLY=($(compgen -W \"");
+        for (int i = 0; i < arguments.size(); i++) {
+            Argument arg = arguments.get(i);
+            sb.append(i == 0 ? "-" : " -").append(arg.getShortName());
+            if (arg.getLongName() != null) {
+                sb.append(" --").append(arg.getLongName());
+            }
+        }
+        sb.append("\" -- \"$cur\"))\n");
+        sb.append("    fi\n");
+        sb.append("    return 0\n");
+        sb.append("}\n");
+        sb.append("complete -o default -F ").append(function).append(" ").append(command).append("\n");
+        return sb.toString();
+    }
+
+    /**
+     * Returns zsh completion script.
+     *
+     * @param storage arguments specification
+     * @param command name of the program as it is typed in the shell
+     * @return zsh completion script
+     * @throws IllegalArgumentException if {@code storage} or {@code command} is {@code null};
+     *                                  if {@code command} or any argument name contains characters other than
+     *                                  letters, digits and {@code . _ + -}
+     */
+    @NotNull
+    public static String zsh(ArgumentStorage storage, String command) {
+        checkCommand(command);
+        List<Argument> arguments = getArguments(storage);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("#compdef ").append(command).append("\n\n");
+        sb.append("_arguments");
+        for (Argument arg : arguments) {
+            sb.append(" \\\n    '");
+            if (arg.getLongName() != null) {
+                sb.append("(-").append(arg.getShortName()).append(" --").append(arg.getLongName()).append(")'")
+                        .append("{-").append(arg.getShortName()).append(",--").append(arg.getLongName()).append("}'");
+            } else {
+                sb.append("-").append(arg.getShortName());
+            }
+            sb.append("[").append(escapeZsh(arg.getDescription())).append("]");
+            if (!arg.getParameters().isEmpty()) {
+                ValueHint hint = ValueHint.of(arg);
+                sb.append(":").append(escapeZsh(arg.getParameters())).append(":");
+                if (hint.isFile) {
+                    sb.append("_files");
+                } else if (hint.isDirectory) {
+                    sb.append("_files -/");
+                } else if (hint.values.length > 0) {
+                    sb.append("(").append(String.join(" ", hint.values)).append(")");
+                } else {
+                    sb.append(" ");
+                }
+            }
+            sb.append("'");
+        }
+        sb.append(" \\\n    '*:value:_files'\n");
+        return sb.toString();
+    }
+
+    /**
+     * Returns bash completion script that asks the {@link CompletionService} running on the loopback interface.
+     * The script uses the {@code /dev/tcp} redirection and requires bash 4.1 or later. If the service
+     * is not running, file names are completed.
+     *
+     * @param command name of the program as it is typed in the shell
+     * @param port    port of the completion service
+     * @return bash completion script
+     * @throws IllegalArgumentException if {@code command} is {@code null};
+     *                                  if {@code command} contains characters other than letters, digits and {@code . _ + -};
+     *                                  if {@code port} is out of range
+     */
+    @NotNull
+    public static String bashClient(String command, int port) {
+        checkCommand(command);
+        if (port <= 0 || port > 0xFFFF) throw new IllegalArgumentException("Parameter <port> is out of range.");
+        String function = functionName(command);
+        return "# bash completion for " + command + " served by the completion service\n" +
+                function + "() {\n" +
+                "    local cur=\"${COMP_WORDS[COMP_CWORD]}\" prev=\"${COMP_WORDS[COMP_CWORD-1]}\" line fd\n" +
+                "    COMPREPLY=()\n" +
+                "    exec {fd}<>/dev/tcp/127.0.0.1/" + port + " 2>/dev/null || return 0\n" +
+                "    printf '%s\\t%s\\n' \"$prev\" \"$cur\" >&$fd\n" +
+                "    while IFS= read -r -t 1 line <&$fd && [[ -n \"$line\" ]]; do\n" +
+                "        COMPREPLY+=(\"$line\")\n" +
+                "    done\n" +
+                "    exec {fd}>&-\n" +
+                "    return 0\n" +
+                "}\n" +
+                "complete -o default -F " + function + " " + command + "\n";
+    }
+
+    /**
+     * Check the command name.
+     *
+     * @param command name of the program
+     * @throws IllegalArgumentException if {@code command} is {@code null} or contains unsafe characters
+     */
+    private static void checkCommand(String command) {
+        if (command == null) throw new IllegalArgumentException("Parameter <command> is null.");
+        if (!NAME.matcher(command).matches()) {
+            throw new IllegalArgumentException("Parameter <command> contains invalid characters : <" + command + ">.");
+        }
+    }
+
+    /**
+     * Returns arguments of the storage after checking their names.
+     *
+     * @param storage arguments specification
+     * @return arguments of the storage
+     * @throws IllegalArgumentException if {@code storage} is {@code null} or any argument name contains unsafe characters
+     */
+    private static List<Argument> getArguments(ArgumentStorage storage) {
+        if (storage == null) throw new IllegalArgumentException("Parameter <storage> is null.");
+        List<Argument> arguments = storage.getArguments();
+        for (Argument arg : arguments) {
+            for (String name : new String[]{arg.getShortName(), arg.getLongName()}) {
+                if (name != null && !NAME.matcher(name).matches()) {
+                    throw new IllegalArgumentException("Argument name contains invalid characters : <" + name + ">.");
+                }
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Returns name of the completion function.
+     *
+     * @param command name of the program
+     * @return name of the shell function
+     */
+    private static String functionName(String command) {
+        return "_" + command.replaceAll("[^A-Za-z0-9_]", "_") + "_complete";
+    }
+
+    /**
+     * Escape text for the description or the message of the zsh {@code _arguments} specification
+     * inside single quotes.
+     *
+     * @param text text to escape
+     * @return escaped text
+     */
+    private static String escapeZsh(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\'':
+                    sb.append("'\\''");
+                    break;
+                case '\\':
+                case '[':
+                case ']':
+                case ':':
+                    sb.append('\\').append(c);
+                    break;
+                case '\n':
+                case '\r':
+                case '\t':
+                    sb.append(' ');
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident completion service. The service keeps a {@link Completer} in memory and answers queries of shell
+ * completion scripts, so completing a word does not start a JVM or read the arguments specification.
+ *
+ * <p>The service listens on the loopback interface only. Each query is one line:
+ * {@code <previous word>\t<current word>}, or just {@code <current word>}. The answer is the completions,
+ * one per line, followed by an empty line. A connection can carry any number of queries. Connections are served
+ * by {@link CompletionService#WORKERS} threads; a connection that is idle for {@link CompletionService#TIMEOUT}
+ * milliseconds or open for {@link CompletionService#DEADLINE} milliseconds is closed, so a slow client cannot
+ * hold a worker. If the pool and its queue are busy, new connections are closed at once.
+ * See {@link CompletionScript#bashClient(String, int)} for the client script.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class CompletionService implements Closeable {
+    /**
+     * Idle timeout of a connection in milliseconds
+     */
+    public static final int TIMEOUT = 1000;
+
+    /**
+     * Total time of a connection in milliseconds
+     */
+    public static final int DEADLINE = 5000;
+
+    /**
+     * Number of threads serving connections
+     */
+    public static final int WORKERS = 4;
+
+    /**
+     * Number of accepted connections waiting for a free thread
+     */
+    private static final int QUEUE = 16;
+
+    /**
+     * Completer of queries
+     */
+    private final Completer completer;
+
+    /**
+     * Listening socket, {@code null} if the service is not started
+     */
+    private ServerSocket server;
+
+    /**
+     * Threads serving connections, {@code null} if the service is not started
+     */
+    private ThreadPoolExecutor workers;
+
+    /**
+     * Create new service.
+     *
+     * @param completer completer of queries
+     * @throws IllegalArgumentException if {@code completer} is {@code null}
+     */
+    public CompletionService(Completer completer) {
+        if (completer == null) throw new IllegalArgumentException("Parameter <completer> is null.");
+        this.completer = completer;
+    }
+
+    /**
+     * Start listening on the loopback interface. Connections are accepted by a daemon thread and served
+     * by a pool of daemon threads.
+     *
+     * @param port port to listen, 0 to take any free port
+     * @return the port the service listens
+     * @throws IOException           if the socket cannot be opened
+     * @throws IllegalStateException if the service is already started
+     */
+    public synchronized int start(int port) throws IOException {
+        if (server != null) throw new IllegalStateException("Service is already started.");
+        server = new ServerSocket(port, 16, InetAddress.getLoopbackAddress());
+        final ServerSocket listening = server;
+        final String name = "completion-service-" + listening.getLocalPort();
+        workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE),
+                task -> {
+                    Thread worker = new Thread(task, name + "-worker");
+                    worker.setDaemon(true);
+                    return worker;
+                });
+        final ThreadPoolExecutor serving = workers;
+        Thread thread = new Thread(() -> serve(listening, serving), name);
+        thread.setDaemon(true);
+        thread.start();
+        return listening.getLocalPort();
+    }
+
+    /**
+     * Returns the port the service listens.
+     *
+     * @return the port, -1 if the service is not started
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getLocalPort() : -1;
+    }
+
+    /**
+     * Stop the service.
+     *
+     * @throws IOException if an error occurs while closing the socket
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (server != null) {
+            workers.shutdownNow();
+            workers = null;
+            server.close();
+            server = null;
+        }
+    }
+
+    /**
+     * Accept connections until the socket is closed.
+     *
+     * @param listening listening socket
+     * @param serving   threads serving connections
+     */
+    private void serve(ServerSocket listening, ThreadPoolExecutor serving) {
+        while (!listening.isClosed()) {
+            Socket socket;
+            try {
+                socket = listening.accept();
+            } catch (IOException ignored) {
+                //The socket is closed
+                continue;
+            }
+            try {
+                serving.execute(() -> handle(socket));
+            } catch (RejectedExecutionException e) {
+                //All threads are busy or the service is stopped
+                close(socket);
+            }
+        }
+    }
+
+    /**
+     * Answer queries of the connection and close it.
+     *
+     * @param socket client connection
+     */
+    private void handle(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            answer(socket, System.currentTimeMillis() + DEADLINE);
+        } catch (SocketException ignored) {
+            //The socket is closed, or the client has gone
+        } catch (IOException ignored) {
+            //The client has sent a broken query or is idle, the connection is dropped
+        } catch (RuntimeException ignored) {
+            //The completer has failed, the connection is dropped and the service goes on
+        } finally {
+            close(socket);
+        }
+    }
+
+    /**
+     * Answer queries of the connection.
+     *
+     * @param socket   client connection
+     * @param deadline time when the connection is closed, in milliseconds
+     * @throws IOException if an I/O error occurs; if the connection is idle or the deadline has passed
+     */
+    private void answer(Socket socket, long deadline) throws IOException {
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        String query;
+        while ((query = readLine(socket, in, deadline)) != null) {
+            int tab = query.indexOf('\t');
+            String previous = tab >= 0 ? query.substring(0, tab) : null;
+            String current = tab >= 0 ? query.substring(tab + 1) : query;
+            for (String completion : completer.complete(previous, current)) {
+                out.write(completion);
+                out.write('\n');
+            }
+            out.write('\n');
+            out.flush();
+        }
+    }
+
+    /**
+     * Read UTF-8 encoded line. Each read waits no longer than {@link CompletionService#TIMEOUT} and
+     * the deadline.
+     *
+     * @param socket   client connection
+     * @param in       input of the connection
+     * @param deadline time when the connection is closed, in milliseconds
+     * @return line without the line terminator; {@code null} if the input has ended
+     * @throws IOException if an I/O error occurs; if the connection is idle or the deadline has passed
+     */
+    private static String readLine(Socket socket, InputStream in, long deadline) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new SocketTimeoutException("Connection deadline has passed.");
+            }
+            socket.setSoTimeout((int) Math.min(TIMEOUT, remaining));
+            int b = in.read();
+            if (b < 0) {
+                return line.size() > 0 ? line.toString("UTF-8") : null;
+            } else if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+    }
+
+    /**
+     * Close the connection quietly.
+     *
+     * @param socket client connection
+     */
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            //Nothing to do with a broken connection
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Kind of argument values for completion, taken from the argument parameters info
+ * (see {@link Argument#getParameters()}):<br>
+ * - {@code FILE} or {@code PATH} - a file name;<br>
+ * - {@code DIR} or {@code DIRECTORY} - a directory name;<br>
+ * - values separated by {@code |}, f.e. {@code fast|slow} - one of the enumerated values;<br>
+ * - anything else - a value that is not completed.
+ *
+ * <p>Enumerated values can contain only letters, digits and {@code . _ + -}, so they can be written
+ * to shell scripts without quoting.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+final class ValueHint {
+    /**
+     * A pattern to check if parameters info is a list of enumerated values
+     */
+    private static final Pattern ENUMERATION = Pattern.compile("[A-Za-z0-9._+-]+(\\|[A-Za-z0-9._+-]+)+");
+
+    /**
+     * Hint of an argument without parameters info
+     */
+    static final ValueHint NONE = new ValueHint(false, false, new String[0]);
+
+    /**
+     * Is the value a file name
+     */
+    final boolean isFile;
+
+    /**
+     * Is the value a directory name
+     */
+    final boolean isDirectory;
+
+    /**
+     * Enumerated values, empty if the values are not enumerated
+     */
+    final String[] values;
+
+    private ValueHint(boolean isFile, boolean isDirectory, String[] values) {
+        this.isFile = isFile;
+        this.isDirectory = isDirectory;
+        this.values = values;
+    }
+
+    /**
+     * Returns hint of the argument values.
+     *
+     * @param arg argument
+     * @return hint of the argument values
+     */
+    static ValueHint of(Argument arg) {
+        String parameters = arg.getParameters().trim();
+        switch (parameters.toUpperCase(Locale.ROOT)) {
+            case "FILE":
+            case "PATH":
+                return new ValueHint(true, false, new String[0]);
+            case "DIR":
+            case "DIRECTORY":
+                return new ValueHint(false, true, new String[0]);
+        }
+        if (ENUMERATION.matcher(parameters).matches()) {
+            return new ValueHint(false, false, parameters.split("\\|"));
+        }
+        return NONE;
+    }
+
+    /**
+     * Is anything known about the values.
+     *
+     * @return {@code true} if the values are files, directories or enumerated
+     */
+    boolean isCompleted() {
+        return isFile || isDirectory || values.length > 0;
+    }
+}
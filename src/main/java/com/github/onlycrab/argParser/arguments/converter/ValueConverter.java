@@ -3,6 +3,8 @@ package com.github.onlycrab.argParser.arguments.converter;
 import com.github.onlycrab.argParser.arguments.exceptions.ConverterException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,6 +16,9 @@ import java.util.List;
  * uses {@link ValueConverter#toChar()} for conversion, {@link ValueConverter#toArrayBoolean()} uses
  * {@link ValueConverter#toBoolean()} and so on.</p>
  *
+ * <p>A converter of several values ({@link ValueConverter#ofValues(String[])}) converts them to arrays
+ * element by element without splitting, and converts the last value to simple types.</p>
+ *
  * @author Roman Rynkovich
  * @version 1.0
  */
@@ -26,6 +31,10 @@ public class ValueConverter {
      * Value for conversion
      */
     private final String value;
+    /**
+     * Values for conversion to arrays, {@code null} if the value is split by delimiter
+     */
+    private final List<String> values;
     /**
      * Converter object
      */
@@ -46,6 +55,7 @@ public class ValueConverter {
      */
     public ValueConverter(String value) {
         this.value = value;
+        values = null;
         converter = new Converter();
     }
 
@@ -62,11 +72,55 @@ public class ValueConverter {
      */
     public ValueConverter(String value, String[] booleanTrueCases, String[] booleanFalseCases) {
         this.value = value;
+        values = null;
         this.booleanTrueCases = booleanTrueCases;
         this.booleanFalseCases = booleanFalseCases;
         converter = new Converter();
     }
 
+    /**
+     * Create new converter of several values.
+     *
+     * @param value             the last value
+     * @param values            values for conversion to arrays
+     * @param booleanTrueCases  true cases
+     * @param booleanFalseCases false cases
+     */
+    private ValueConverter(String value, List<String> values, String[] booleanTrueCases, String[] booleanFalseCases) {
+        this.value = value;
+        this.values = values;
+        this.booleanTrueCases = booleanTrueCases;
+        this.booleanFalseCases = booleanFalseCases;
+        converter = new Converter();
+    }
+
+    /**
+     * Returns new converter of several values.
+     *
+     * @param values values for conversion; {@code null} is converted as no values
+     * @return converter of the values
+     */
+    public static ValueConverter ofValues(String[] values) {
+        return ofValues(values, new String[]{"true"}, new String[]{"false"});
+    }
+
+    /**
+     * Returns new converter of several values. {@code booleanTrueCases} and {@code booleanFalseCases}
+     * will override the defaults cases.
+     *
+     * @param values            values for conversion; {@code null} is converted as no values
+     * @param booleanTrueCases  true cases
+     * @param booleanFalseCases false cases
+     * @return converter of the values
+     * @see ValueConverter#ValueConverter(String, String[], String[])
+     */
+    public static ValueConverter ofValues(String[] values, String[] booleanTrueCases, String[] booleanFalseCases) {
+        if (values == null || values.length == 0) {
+            return new ValueConverter(null, Collections.emptyList(), booleanTrueCases, booleanFalseCases);
+        }
+        return new ValueConverter(values[values.length - 1], Arrays.asList(values), booleanTrueCases, booleanFalseCases);
+    }
+
     /**
      * Returns {@code boolean} representation of the value.
      * Conversion occurs according to the following rules:<br>
@@ -174,7 +228,7 @@ public class ValueConverter {
      * @throws ConverterException if value length is 0.
      */
     public String[] toArray() throws ConverterException {
-        return converter.toArray(value);
+        return converter.toArray(list());
     }
 
     /**
@@ -185,7 +239,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code boolean} array.
      */
     public boolean[] toArrayBoolean() throws ConverterException {
-        return converter.toArrayBoolean(value);
+        return converter.toArrayBoolean(list());
     }
 
     /**
@@ -196,7 +250,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code char} array.
      */
     public char[] toArrayChar() throws ConverterException {
-        return converter.toArrayChar(value);
+        return converter.toArrayChar(list());
     }
 
     /**
@@ -207,7 +261,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code int} array.
      */
     public int[] toArrayInt() throws ConverterException {
-        return converter.toArrayInt(value, RADIX_DEFAULT);
+        return converter.toArrayInt(list(), RADIX_DEFAULT);
     }
 
     /**
@@ -219,7 +273,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code int} array.
      */
     public int[] toArrayInt(int radix) throws ConverterException {
-        return converter.toArrayInt(value, radix);
+        return converter.toArrayInt(list(), radix);
     }
 
     /**
@@ -230,7 +284,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code long} array.
      */
     public long[] toArrayLong() throws ConverterException {
-        return converter.toArrayLong(value, RADIX_DEFAULT);
+        return converter.toArrayLong(list(), RADIX_DEFAULT);
     }
 
     /**
@@ -242,7 +296,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code long} array.
      */
     public long[] toArrayLong(int radix) throws ConverterException {
-        return converter.toArrayLong(value, radix);
+        return converter.toArrayLong(list(), radix);
     }
 
     /**
@@ -253,7 +307,7 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code float} array.
      */
     public float[] toArrayFloat() throws ConverterException {
-        return converter.toArrayFloat(value);
+        return converter.toArrayFloat(list());
     }
 
     /**
@@ -264,7 +318,20 @@ public class ValueConverter {
      * @throws ConverterException if array cant be converted to {@code double} array.
      */
     public double[] toArrayDouble() throws ConverterException {
-        return converter.toArrayDouble(value);
+        return converter.toArrayDouble(list());
+    }
+
+    /**
+     * Returns values for conversion to arrays.
+     *
+     * @return values, or the value split by delimiter ','
+     * @throws ConverterException if the value is split and its length is 0.
+     */
+    private List<String> list() throws ConverterException {
+        if (values != null) {
+            return values;
+        }
+        return converter.toList(value);
     }
 
     /**
@@ -392,8 +459,7 @@ public class ValueConverter {
             return res;
         }
 
-        String[] toArray(String value) throws ConverterException {
-            List<String> values = toList(value);
+        String[] toArray(List<String> values) throws ConverterException {
             String[] arr = new String[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = values.get(i);
@@ -401,8 +467,7 @@ public class ValueConverter {
             return arr;
         }
 
-        boolean[] toArrayBoolean(String value) throws ConverterException {
-            List<String> values = toList(value);
+        boolean[] toArrayBoolean(List<String> values) throws ConverterException {
             boolean[] arr = new boolean[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toBoolean(values.get(i));
@@ -410,8 +475,7 @@ public class ValueConverter {
             return arr;
         }
 
-        char[] toArrayChar(String value) throws ConverterException {
-            List<String> values = toList(value);
+        char[] toArrayChar(List<String> values) throws ConverterException {
             char[] arr = new char[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toChar(values.get(i));
@@ -419,8 +483,7 @@ public class ValueConverter {
             return arr;
         }
 
-        int[] toArrayInt(String value, int radix) throws ConverterException {
-            List<String> values = toList(value);
+        int[] toArrayInt(List<String> values, int radix) throws ConverterException {
             int[] arr = new int[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toInt(values.get(i), radix);
@@ -428,8 +491,7 @@ public class ValueConverter {
             return arr;
         }
 
-        long[] toArrayLong(String value, int radix) throws ConverterException {
-            List<String> values = toList(value);
+        long[] toArrayLong(List<String> values, int radix) throws ConverterException {
             long[] arr = new long[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toLong(values.get(i), radix);
@@ -437,8 +499,7 @@ public class ValueConverter {
             return arr;
         }
 
-        float[] toArrayFloat(String value) throws ConverterException {
-            List<String> values = toList(value);
+        float[] toArrayFloat(List<String> values) throws ConverterException {
             float[] arr = new float[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toFloat(values.get(i));
@@ -446,8 +507,7 @@ public class ValueConverter {
             return arr;
         }
 
-        double[] toArrayDouble(String value) throws ConverterException {
-            List<String> values = toList(value);
+        double[] toArrayDouble(List<String> values) throws ConverterException {
             double[] arr = new double[values.size()];
             for (int i = 0; i < values.size(); i++) {
                 arr[i] = toDouble(values.get(i));
@@ -1,9 +1,12 @@
 package com.github.onlycrab.argParser.arguments.dependencies;
 
 import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Arguments conflict management class.
@@ -29,6 +32,30 @@ public class Conflicts {
         confLinks = new ArrayList<>();
     }
 
+    /**
+     * Returns conflict links: pairs of conflicting arguments.
+     *
+     * @return conflict links
+     */
+    List<Argument[]> getLinks() {
+        return confLinks;
+    }
+
+    /**
+     * Returns copy of the conflicts in which the arguments are replaced. Conflicts of arguments that have no
+     * replacement are not copied.
+     *
+     * @param replacements replacements of arguments
+     * @return copy of the conflicts
+     */
+    public Conflicts copy(Map<Argument, Argument> replacements) {
+        Conflicts copy = new Conflicts();
+        for (Argument[] pair : confLinks) {
+            copy.addConflict(replacements.get(pair[0]), replacements.get(pair[1]));
+        }
+        return copy;
+    }
+
     /**
      * Add a conflict between two arguments.
      *
@@ -81,20 +108,20 @@ public class Conflicts {
             return returned;
         }
 
-        if (arg.isDeclared() || arg.isFilled()) {
+        if (arg.isSpecified()) {
             for (Argument[] pair : confLinks) {
                 //If pair is already processed - skip
                 if (returned.isAlreadyProcessed(pair)) {
                     continue;
                 }
                 if (arg == pair[0]) {
-                    if (pair[1].isDeclared() || pair[1].isFilled()) {
+                    if (pair[1].isSpecified()) {
                         returned.setResult(pair, true);
                         returned.addMessage(String.format("Parameter %s is in conflict with %s.",
                                 arg.getName(), pair[1].getName()));
                     }
                 } else if (arg == pair[1]) {
-                    if (pair[0].isDeclared() || pair[0].isFilled()) {
+                    if (pair[0].isSpecified()) {
                         returned.setResult(pair, true);
                         returned.addMessage(String.format("Parameter %s is in conflict with %s.",
                                 arg.getName(), pair[1].getName()));
@@ -106,6 +133,20 @@ public class Conflicts {
         return returned;
     }
 
+    /**
+     * Returns content fingerprint of the conflicts. The fingerprint does not depend on the order of conflicts
+     * and of the arguments in a conflict.
+     *
+     * @return content fingerprint
+     */
+    public Fingerprint getFingerprint() {
+        Fingerprint result = Fingerprint.ZERO;
+        for (Argument[] pair : confLinks) {
+            result = result.plus(Fingerprint.EMPTY.then(pair[0].getFingerprint().plus(pair[1].getFingerprint())));
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null) {
@@ -119,6 +160,9 @@ public class Conflicts {
         if (confLinks.size() != another.confLinks.size()) {
             return false;
         }
+        if (!getFingerprint().equals(another.getFingerprint())) {
+            return false;
+        }
         return contains(another) && another.contains(this);
     }
 
@@ -133,17 +177,15 @@ public class Conflicts {
         if (test == null) {
             return false;
         }
-        boolean isEquals;
+        //Conflicting arguments of each argument
+        Map<Argument, List<Argument>> links = new HashMap<>();
+        for (Argument[] thisLink : confLinks) {
+            links.computeIfAbsent(thisLink[0], key -> new ArrayList<>()).add(thisLink[1]);
+            links.computeIfAbsent(thisLink[1], key -> new ArrayList<>()).add(thisLink[0]);
+        }
         for (Argument[] testLink : test.confLinks) {
-            isEquals = false;
-            for (Argument[] thisLink : confLinks) {
-                if ((testLink[0].equals(thisLink[0]) && testLink[1].equals(thisLink[1])) ||
-                        (testLink[0].equals(thisLink[1]) && testLink[1].equals(thisLink[0]))) {
-                    isEquals = true;
-                    break;
-                }
-            }
-            if (!isEquals) {
+            List<Argument> linked = links.get(testLink[0]);
+            if (linked == null || !linked.contains(testLink[1])) {
                 return false;
             }
         }
@@ -0,0 +1,209 @@
+package com.github.onlycrab.argParser.arguments.dependencies;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static consistency analyzer of arguments specification.
+ *
+ * <p>The analyzer checks whether there is at least one command line that satisfies all argument restrictions,
+ * without parsing anything. Each argument is represented by a boolean variable "argument is declared", and the
+ * restrictions are encoded as clauses:<br>
+ * 1.An argument required to be declared - {@code (arg)};<br>
+ * 2.A dependency of {@code arg_1} on {@code arg_2} - {@code (not arg_1 or arg_2)};<br>
+ * 3.A conflict between {@code arg_1} and {@code arg_2} - {@code (not arg_1 or not arg_2)}.</p>
+ *
+ * <p>The specification is <b>inconsistent</b> if the clauses are unsatisfiable, f.e. two required arguments
+ * are in conflict, or a required argument depends on an argument that conflicts with another required argument.
+ * In this case, no command line can pass {@link Requirements#isRequireFilled(Argument)} and
+ * {@link Conflicts#isInConflict(Argument)} checks.</p>
+ *
+ * <p>An argument is <b>dead</b> if the clauses are unsatisfiable when this argument is declared. Declaring such an
+ * argument is always rejected, f.e. the argument depends on an argument that conflicts with a required one.</p>
+ *
+ * <p>The clauses are solved by {@link DpllSolver}.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class ConsistencyAnalyzer {
+    /**
+     * Analyzed arguments, index in list is the variable number
+     */
+    private final List<Argument> arguments;
+
+    /**
+     * Variable numbers of arguments
+     */
+    private final Map<Argument, Integer> variables;
+
+    /**
+     * For each argument - variable numbers of arguments that depend on it
+     */
+    private final List<List<Integer>> dependents;
+
+    /**
+     * Solver with encoded restrictions
+     */
+    private final DpllSolver solver;
+
+    /**
+     * Create new analyzer.
+     *
+     * @param arguments    all arguments of the specification
+     * @param requirements arguments requirements(dependencies)
+     * @param conflicts    arguments conflicts
+     */
+    public ConsistencyAnalyzer(List<Argument> arguments, Requirements requirements, Conflicts conflicts) {
+        this.arguments = new ArrayList<>();
+        variables = new IdentityHashMap<>();
+        if (arguments != null) {
+            for (Argument arg : arguments) {
+                variableOf(arg);
+            }
+        }
+        if (requirements != null) {
+            for (Map.Entry<Argument, List<Argument>> link : requirements.getLinks().entrySet()) {
+                variableOf(link.getKey());
+                for (Argument on : link.getValue()) {
+                    variableOf(on);
+                }
+            }
+        }
+        if (conflicts != null) {
+            for (Argument[] pair : conflicts.getLinks()) {
+                variableOf(pair[0]);
+                variableOf(pair[1]);
+            }
+        }
+
+        dependents = new ArrayList<>();
+        for (int i = 0; i < this.arguments.size(); i++) {
+            dependents.add(new ArrayList<>());
+        }
+        solver = new DpllSolver(this.arguments.size());
+        for (Argument arg : this.arguments) {
+            if (arg.isRequiredBeDeclared()) {
+                solver.addClause(DpllSolver.positive(variableOf(arg)));
+            }
+        }
+        if (requirements != null) {
+            for (Map.Entry<Argument, List<Argument>> link : requirements.getLinks().entrySet()) {
+                for (Argument on : link.getValue()) {
+                    solver.addClause(DpllSolver.negative(variableOf(link.getKey())), DpllSolver.positive(variableOf(on)));
+                    dependents.get(variableOf(on)).add(variableOf(link.getKey()));
+                }
+            }
+        }
+        if (conflicts != null) {
+            for (Argument[] pair : conflicts.getLinks()) {
+                solver.addClause(DpllSolver.negative(variableOf(pair[0])), DpllSolver.negative(variableOf(pair[1])));
+            }
+        }
+    }
+
+    /**
+     * Returns the variable number of the argument, registers the argument if necessary.
+     *
+     * @param arg argument
+     * @return variable number
+     */
+    private int variableOf(Argument arg) {
+        Integer variable = variables.get(arg);
+        if (variable == null) {
+            variable = arguments.size();
+            variables.put(arg, variable);
+            arguments.add(arg);
+        }
+        return variable;
+    }
+
+    /**
+     * Is there at least one set of declared arguments that satisfies all restrictions.
+     *
+     * @return {@code true} if the specification is consistent, otherwise returns {@code false}
+     */
+    public boolean isSatisfiable() {
+        return solver.solve();
+    }
+
+    /**
+     * Returns arguments that can never be declared without violating the restrictions.
+     * If the specification is inconsistent, all arguments are dead.
+     *
+     * @return dead arguments in the order of the specification
+     */
+    public List<Argument> getDeadArguments() {
+        List<Argument> dead = new ArrayList<>();
+        boolean[] isAlive = new boolean[arguments.size()];
+        boolean[] isDead = new boolean[arguments.size()];
+        for (int i = 0; i < arguments.size(); i++) {
+            if (isAlive[i] || isDead[i]) {
+                continue;
+            }
+            if (solver.solve(DpllSolver.positive(i))) {
+                //Each argument declared in the found model is alive too
+                for (int j = i; j < arguments.size(); j++) {
+                    if (solver.getValue(j)) {
+                        isAlive[j] = true;
+                    }
+                }
+            } else {
+                //Each argument that depends on a dead argument is dead too
+                List<Integer> queue = new ArrayList<>();
+                queue.add(i);
+                isDead[i] = true;
+                for (int k = 0; k < queue.size(); k++) {
+                    for (int dependent : dependents.get(queue.get(k))) {
+                        if (!isDead[dependent]) {
+                            isDead[dependent] = true;
+                            queue.add(dependent);
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < arguments.size(); i++) {
+            if (isDead[i]) {
+                dead.add(arguments.get(i));
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * Check the specification consistency.
+     *
+     * @return if the specification is consistent and there are no dead arguments - instance of
+     * {@code ReturnedBoolean} with result {@code true}, else - with result {@code false}
+     * @see ReturnedBoolean
+     */
+    public ReturnedBoolean analyze() {
+        ReturnedBoolean returned = new ReturnedBoolean(true);
+        if (!isSatisfiable()) {
+            StringBuilder required = new StringBuilder();
+            for (Argument arg : arguments) {
+                if (arg.isRequiredBeDeclared()) {
+                    if (required.length() > 0) {
+                        required.append(", ");
+                    }
+                    required.append(arg.getName());
+                }
+            }
+            returned.setResult(null, false);
+            returned.addMessage(String.format("Required parameters %s cannot be declared together " +
+                    "without violating dependencies or conflicts.", required));
+            return returned;
+        }
+        for (Argument arg : getDeadArguments()) {
+            returned.setResult(null, false);
+            returned.addMessage(String.format("Parameter %s can never be declared " +
+                    "without violating dependencies or conflicts.", arg.getName()));
+        }
+        return returned;
+    }
+}
@@ -0,0 +1,272 @@
+package com.github.onlycrab.argParser.arguments.dependencies;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Small DPLL satisfiability solver for boolean formulas in conjunctive normal form.
+ *
+ * <p>Variables are numbered from 0. A literal is encoded as {@code 2 * variable} for the positive form
+ * and {@code 2 * variable + 1} for the negative form (see {@link DpllSolver#positive(int)} and
+ * {@link DpllSolver#negative(int)}).</p>
+ *
+ * <p>The solver uses unit propagation over occurrence lists and chronological backtracking. Decisions
+ * assign {@code false} first, which immediately satisfies most argument specifications (arguments are not
+ * declared by default).</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+class DpllSolver {
+    /**
+     * Number of variables
+     */
+    private final int variables;
+
+    /**
+     * Clauses added to the solver
+     */
+    private final List<int[]> clauses;
+
+    /**
+     * For each literal - indexes of clauses that contain it
+     */
+    private int[][] occurrences;
+
+    /**
+     * Variable values: 0 - not assigned, 1 - {@code true}, -1 - {@code false}
+     */
+    private byte[] values;
+
+    /**
+     * Assigned literals in the order of assignment
+     */
+    private int[] trail;
+    private int trailSize;
+
+    /**
+     * Position of the next literal in {@link DpllSolver#trail} to propagate
+     */
+    private int propagated;
+
+    /**
+     * Create new solver.
+     *
+     * @param variables number of variables
+     */
+    DpllSolver(int variables) {
+        this.variables = variables;
+        clauses = new ArrayList<>();
+    }
+
+    /**
+     * Returns positive literal of the variable.
+     *
+     * @param variable variable number
+     * @return positive literal
+     */
+    static int positive(int variable) {
+        return variable << 1;
+    }
+
+    /**
+     * Returns negative literal of the variable.
+     *
+     * @param variable variable number
+     * @return negative literal
+     */
+    static int negative(int variable) {
+        return (variable << 1) | 1;
+    }
+
+    /**
+     * Add clause (disjunction of literals).
+     *
+     * @param literals clause literals
+     */
+    void addClause(int... literals) {
+        clauses.add(literals.clone());
+        occurrences = null;
+    }
+
+    /**
+     * Returns the value of the variable in the last found model.
+     *
+     * @param variable variable number
+     * @return {@code true} if variable is assigned to {@code true}
+     */
+    boolean getValue(int variable) {
+        return values != null && values[variable] > 0;
+    }
+
+    /**
+     * Check if the formula is satisfiable under the assumptions. If it is, the model can be read by
+     * {@link DpllSolver#getValue(int)}.
+     *
+     * @param assumptions literals that must be {@code true}
+     * @return {@code true} if the formula is satisfiable
+     */
+    boolean solve(int... assumptions) {
+        if (occurrences == null) {
+            buildOccurrences();
+        }
+        if (values == null) {
+            values = new byte[variables];
+            trail = new int[variables];
+        } else {
+            Arrays.fill(values, (byte) 0);
+        }
+        trailSize = 0;
+        propagated = 0;
+
+        for (int[] clause : clauses) {
+            if (clause.length == 0) {
+                return false;
+            } else if (clause.length == 1 && !enqueue(clause[0])) {
+                return false;
+            }
+        }
+        for (int literal : assumptions) {
+            if (!enqueue(literal)) {
+                return false;
+            }
+        }
+        if (!propagate()) {
+            return false;
+        }
+
+        int[] decisions = new int[variables];
+        int[] levelStarts = new int[variables];
+        boolean[] flipped = new boolean[variables];
+        int level = 0;
+        int cursor = 0;
+        while (true) {
+            while (cursor < variables && values[cursor] != 0) {
+                cursor++;
+            }
+            if (cursor == variables) {
+                return true;
+            }
+            decisions[level] = negative(cursor);
+            levelStarts[level] = trailSize;
+            flipped[level] = false;
+            level++;
+            enqueue(negative(cursor));
+
+            while (!propagate()) {
+                //Backtrack to the last decision that has not been flipped yet
+                int literal;
+                do {
+                    if (level == 0) {
+                        return false;
+                    }
+                    level--;
+                    undo(levelStarts[level]);
+                    literal = decisions[level];
+                    cursor = literal >> 1;
+                } while (flipped[level]);
+                decisions[level] = literal ^ 1;
+                flipped[level] = true;
+                level++;
+                enqueue(literal ^ 1);
+            }
+        }
+    }
+
+    /**
+     * Build the occurrence lists of literals.
+     */
+    private void buildOccurrences() {
+        int[] counts = new int[variables * 2];
+        for (int[] clause : clauses) {
+            for (int literal : clause) {
+                counts[literal]++;
+            }
+        }
+        occurrences = new int[variables * 2][];
+        for (int i = 0; i < counts.length; i++) {
+            occurrences[i] = new int[counts[i]];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < clauses.size(); i++) {
+            for (int literal : clauses.get(i)) {
+                occurrences[literal][counts[literal]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the literal: 0 - not assigned, 1 - {@code true}, -1 - {@code false}.
+     *
+     * @param literal literal
+     * @return the value of the literal
+     */
+    private int valueOf(int literal) {
+        int value = values[literal >> 1];
+        return (literal & 1) == 0 ? value : -value;
+    }
+
+    /**
+     * Assign the literal to {@code true}.
+     *
+     * @param literal literal
+     * @return {@code false} if the literal is already assigned to {@code false}
+     */
+    private boolean enqueue(int literal) {
+        int value = valueOf(literal);
+        if (value != 0) {
+            return value > 0;
+        }
+        values[literal >> 1] = (byte) ((literal & 1) == 0 ? 1 : -1);
+        trail[trailSize++] = literal;
+        return true;
+    }
+
+    /**
+     * Unit propagation of all assigned literals.
+     *
+     * @return {@code false} if a conflict was found
+     */
+    private boolean propagate() {
+        while (propagated < trailSize) {
+            //Clauses that contain the negation of the assigned literal may have become unit
+            int falseLiteral = trail[propagated++] ^ 1;
+            for (int index : occurrences[falseLiteral]) {
+                int unassigned = -1;
+                int unassignedCount = 0;
+                boolean isSatisfied = false;
+                for (int literal : clauses.get(index)) {
+                    int value = valueOf(literal);
+                    if (value > 0) {
+                        isSatisfied = true;
+                        break;
+                    } else if (value == 0) {
+                        unassigned = literal;
+                        unassignedCount++;
+                    }
+                }
+                if (isSatisfied || unassignedCount > 1) {
+                    continue;
+                }
+                if (unassignedCount == 0 || !enqueue(unassigned)) {
+                    propagated = trailSize;
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unassign all literals assigned after {@code trailStart}.
+     *
+     * @param trailStart position in the trail
+     */
+    private void undo(int trailStart) {
+        while (trailSize > trailStart) {
+            values[trail[--trailSize] >> 1] = 0;
+        }
+        propagated = trailSize;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.onlycrab.argParser.arguments.dependencies;
 
 import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.index.Fingerprint;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -32,6 +33,33 @@ public class Requirements {
         reqLinks.clear();
     }
 
+    /**
+     * Returns requirement links: dependent argument and arguments on which it depends.
+     *
+     * @return requirement links
+     */
+    Map<Argument, List<Argument>> getLinks() {
+        return reqLinks;
+    }
+
+    /**
+     * Returns copy of the requirements in which the arguments are replaced. Links of arguments that have no
+     * replacement are not copied.
+     *
+     * @param replacements replacements of arguments
+     * @return copy of the requirements
+     */
+    public Requirements copy(Map<Argument, Argument> replacements) {
+        Requirements copy = new Requirements();
+        for (Map.Entry<Argument, List<Argument>> link : reqLinks.entrySet()) {
+            Argument req = replacements.get(link.getKey());
+            for (Argument on : link.getValue()) {
+                copy.addRequirement(req, replacements.get(on));
+            }
+        }
+        return copy;
+    }
+
     /**
      * Add requirement of one argument on another.
      *
@@ -189,7 +217,7 @@ public class Requirements {
                 }
             }
 
-            if (arg.isDeclared() || arg.isFilled()) {
+            if (arg.isSpecified()) {
                 for (Argument also : links) {
                     if (!returned.isAlreadyProcessed(also)) {
                         returned = isDependencyRequireFilled(also, arg, returned);
@@ -197,7 +225,7 @@ public class Requirements {
                 }
             }
         } else {
-            if (arg.isDeclared() || arg.isFilled()) {
+            if (arg.isSpecified()) {
                 //If argument is not required, but is declared - check is filled all argument from alsoRequired list
                 for (Argument also : links) {
                     if (!returned.isAlreadyProcessed(also)) {
@@ -251,6 +279,22 @@ public class Requirements {
         return returned;
     }
 
+    /**
+     * Returns content fingerprint of the requirements. The fingerprint does not depend on the order of requirements.
+     *
+     * @return content fingerprint
+     */
+    public Fingerprint getFingerprint() {
+        Fingerprint result = Fingerprint.ZERO;
+        for (Map.Entry<Argument, List<Argument>> link : reqLinks.entrySet()) {
+            Fingerprint req = link.getKey().getFingerprint();
+            for (Argument on : link.getValue()) {
+                result = result.plus(req.then(on.getFingerprint()));
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null) {
@@ -264,6 +308,9 @@ public class Requirements {
         if (reqLinks.size() != another.reqLinks.size()) {
             return false;
         }
+        if (!getFingerprint().equals(another.getFingerprint())) {
+            return false;
+        }
         return contains(another) && another.contains(this);
     }
 
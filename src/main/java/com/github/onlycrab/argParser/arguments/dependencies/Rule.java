@@ -15,6 +15,13 @@ import java.util.List;
  * - to check the result call {@link ArgumentStorage#isRulesSatisfied()} after arguments parsing.<br>
  * More info in {@link ArgumentStorage} description (p. 8).</p>
  *
+ * <p>Rules can also be checked in parallel by {@link ArgumentStorage#isRulesSatisfied(java.util.concurrent.Executor)}.
+ * In this case, the rule hints are taken into account:<br>
+ * - a rule marked as <b>costly</b> ({@link Rule#setCostly(boolean)}) is checked on the executor;<br>
+ * - a rule marked as <b>isolated</b> ({@link Rule#setIsolated(boolean)}) is never checked at the same time
+ * as any other rule (use it for rules that are not thread safe or share some state);<br>
+ * - all other rules are checked on the calling thread.</p>
+ *
  * @author Roman Rynkovich
  * @version 1.0
  */
@@ -30,6 +37,16 @@ public abstract class Rule {
      */
     private final List<String> messages;
 
+    /**
+     * Rule cost hint. {@code true} if the rule check is expensive and is worth running in parallel with other rules
+     */
+    private boolean isCostly;
+
+    /**
+     * Rule isolation flag. {@code true} if the rule must not be checked at the same time as any other rule
+     */
+    private boolean isIsolated;
+
     /**
      * Create new rule.
      */
@@ -97,6 +114,49 @@ public abstract class Rule {
         addMessage(msg);
     }
 
+    /**
+     * Is the rule check expensive (cost hint for parallel check).
+     *
+     * @return {@code true} if the rule check is expensive, otherwise returns {@code false}
+     */
+    public final boolean isCostly() {
+        return isCostly;
+    }
+
+    /**
+     * Set the rule cost hint. Costly rules are checked on the executor when rules are checked in parallel.
+     *
+     * @param value {@code true} if the rule check is expensive
+     * @return a reference to this object
+     * @see RuleEvaluator
+     */
+    public final Rule setCostly(boolean value) {
+        isCostly = value;
+        return this;
+    }
+
+    /**
+     * Is the rule must be checked in isolation from other rules.
+     *
+     * @return {@code true} if the rule must not be checked at the same time as any other rule
+     */
+    public final boolean isIsolated() {
+        return isIsolated;
+    }
+
+    /**
+     * Set the rule isolation flag. Isolated rules are checked on the calling thread after all other rules
+     * have been checked. The flag takes precedence over the cost hint.
+     *
+     * @param value {@code true} if the rule must not be checked at the same time as any other rule
+     * @return a reference to this object
+     * @see RuleEvaluator
+     */
+    public final Rule setIsolated(boolean value) {
+        isIsolated = value;
+        return this;
+    }
+
     /**
      * Is all arguments linked to this rule satisfy it.
      *
@@ -0,0 +1,143 @@
+package com.github.onlycrab.argParser.arguments.dependencies;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel custom rules checker.
+ *
+ * <p>The rules are checked according to their hints:<br>
+ * 1.Costly rules ({@link Rule#isCostly()}) are submitted to the executor;<br>
+ * 2.While costly rules are being checked, all other non-isolated rules are checked on the calling thread;<br>
+ * 3.After all the rules above have been checked, isolated rules ({@link Rule#isIsolated()}) are checked
+ * one by one on the calling thread.</p>
+ *
+ * <p>The result of each rule is returned at the position of the rule in the source list, so the dissatisfaction
+ * messages can be merged in the order of rules declaration regardless of the order of completion.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see Rule
+ */
+public class RuleEvaluator {
+    /**
+     * Executor for costly rules
+     */
+    private final Executor executor;
+
+    /**
+     * Create new evaluator that checks costly rules on the common {@link ForkJoinPool}.
+     */
+    public RuleEvaluator() {
+        this(null);
+    }
+
+    /**
+     * Create new evaluator.
+     *
+     * @param executor executor for costly rules; if {@code null} - the common {@link ForkJoinPool} will be used
+     */
+    public RuleEvaluator(@Nullable Executor executor) {
+        if (executor != null) {
+            this.executor = executor;
+        } else {
+            this.executor = ForkJoinPool.commonPool();
+        }
+    }
+
+    /**
+     * Check all rules.
+     *
+     * <p>If any rule throws an exception, the method waits for all submitted rules to complete and then
+     * rethrows the exception of the first (in order of declaration) failed rule.</p>
+     *
+     * @param rules rules to check
+     * @return results of {@link Rule#isSatisfied()} in the order of {@code rules}
+     */
+    public boolean[] evaluate(List<Rule> rules) {
+        if (rules == null) {
+            return new boolean[0];
+        }
+        boolean[] results = new boolean[rules.size()];
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(rules.size());
+        Rule rule;
+
+        //Submit costly rules
+        for (int i = 0; i < rules.size(); i++) {
+            rule = rules.get(i);
+            if (rule != null && rule.isCostly() && !rule.isIsolated()) {
+                futures.add(CompletableFuture.supplyAsync(rule::isSatisfied, executor));
+            } else {
+                futures.add(null);
+            }
+        }
+
+        //Check cheap rules on the calling thread
+        RuntimeException failure = null;
+        int failureIndex = rules.size();
+        for (int i = 0; i < rules.size(); i++) {
+            rule = rules.get(i);
+            if (rule == null) {
+                results[i] = true;
+            } else if (futures.get(i) == null && !rule.isIsolated()) {
+                try {
+                    results[i] = rule.isSatisfied();
+                } catch (RuntimeException e) {
+                    if (i < failureIndex) {
+                        failure = e;
+                        failureIndex = i;
+                    }
+                }
+            }
+        }
+
+        //Collect costly rules results
+        for (int i = 0; i < rules.size(); i++) {
+            if (futures.get(i) != null) {
+                try {
+                    results[i] = futures.get(i).join();
+                } catch (CompletionException e) {
+                    if (i < failureIndex) {
+                        failure = unwrap(e);
+                        failureIndex = i;
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        //Check isolated rules
+        for (int i = 0; i < rules.size(); i++) {
+            rule = rules.get(i);
+            if (rule != null && rule.isIsolated()) {
+                results[i] = rule.isSatisfied();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the exception thrown by the rule.
+     *
+     * @param e completion exception
+     * @return the exception thrown by the rule
+     */
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.github.onlycrab.argParser.arguments.help;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over arguments names and descriptions for searching help by keywords.
+ *
+ * <p>Texts are split into lower-case words (sequences of letters and digits). Each word points to the arguments
+ * containing it with a weight that depends on the field: a whole short or long name weighs the most, then words
+ * of the names, then words of the description and the detailed description.</p>
+ *
+ * <p>A query is split into words the same way. An argument matches the query if each query word is a word or
+ * a prefix of a word of the argument (a prefix match weighs half as much). Matching arguments are ranked by the
+ * total weight, arguments with the same weight are kept in the order of the specification.</p>
+ *
+ * <p>The index is a snapshot: it must be rebuilt after the arguments have been changed.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class HelpIndex {
+    /**
+     * Weight of a whole short or long name
+     */
+    private static final int WEIGHT_NAME = 100;
+
+    /**
+     * Weight of a word of a short or long name
+     */
+    private static final int WEIGHT_NAME_WORD = 20;
+
+    /**
+     * Weight of a word of a description
+     */
+    private static final int WEIGHT_DESCRIPTION = 5;
+
+    /**
+     * Weight of a word of a detailed description
+     */
+    private static final int WEIGHT_DESCRIPTION_DETAILED = 2;
+
+    /**
+     * Indexed arguments
+     */
+    private final List<Argument> arguments;
+
+    /**
+     * Postings: for each word - pairs of argument index and weight, sorted by argument index
+     */
+    private final NavigableMap<String, int[]> postings;
+
+    /**
+     * Create new index.
+     *
+     * @param arguments arguments to index
+     */
+    public HelpIndex(List<Argument> arguments) {
+        this.arguments = new ArrayList<>(arguments);
+        Map<String, List<Integer>> words = new TreeMap<>();
+        for (int i = 0; i < this.arguments.size(); i++) {
+            Argument arg = this.arguments.get(i);
+            addWord(words, arg.getShortName().toLowerCase(Locale.ROOT), i, WEIGHT_NAME);
+            addWords(words, arg.getShortName(), i, WEIGHT_NAME_WORD);
+            if (arg.getLongName() != null) {
+                addWord(words, arg.getLongName().toLowerCase(Locale.ROOT), i, WEIGHT_NAME);
+                addWords(words, arg.getLongName(), i, WEIGHT_NAME_WORD);
+            }
+            addWords(words, arg.getDescription(), i, WEIGHT_DESCRIPTION);
+            if (!arg.getDescriptionDetailed().equals(arg.getDescription())) {
+                addWords(words, arg.getDescriptionDetailed(), i, WEIGHT_DESCRIPTION_DETAILED);
+            }
+        }
+        postings = new TreeMap<>();
+        for (Map.Entry<String, List<Integer>> entry : words.entrySet()) {
+            int[] list = new int[entry.getValue().size()];
+            for (int i = 0; i < list.length; i++) {
+                list[i] = entry.getValue().get(i);
+            }
+            postings.put(entry.getKey(), list);
+        }
+    }
+
+    /**
+     * Add all words of the text.
+     *
+     * @param words  postings under construction
+     * @param text   text to split into words
+     * @param index  argument index
+     * @param weight word weight
+     */
+    private static void addWords(Map<String, List<Integer>> words, String text, int index, int weight) {
+        for (String word : split(text)) {
+            addWord(words, word, index, weight);
+        }
+    }
+
+    /**
+     * Add word to postings. If the argument already has this word, the weights are summed.
+     *
+     * @param words  postings under construction
+     * @param word   word
+     * @param index  argument index
+     * @param weight word weight
+     */
+    private static void addWord(Map<String, List<Integer>> words, String word, int index, int weight) {
+        if (word.isEmpty()) {
+            return;
+        }
+        List<Integer> list = words.computeIfAbsent(word, key -> new ArrayList<>());
+        int size = list.size();
+        if (size > 0 && list.get(size - 2) == index) {
+            list.set(size - 1, list.get(size - 1) + weight);
+        } else {
+            list.add(index);
+            list.add(weight);
+        }
+    }
+
+    /**
+     * Split text into lower-case words.
+     *
+     * @param text text
+     * @return words of the text
+     */
+    private static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns arguments matching the query, ranked by relevance.
+     *
+     * @param query keywords
+     * @return arguments matching each keyword of the query, the most relevant first
+     */
+    public List<Argument> search(String query) {
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        List<String> keywords = split(query);
+        if (keywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int[] scores = new int[arguments.size()];
+        int[] matched = new int[arguments.size()];
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            for (Map.Entry<String, int[]> entry : postings.subMap(keyword, true, keyword + Character.MAX_VALUE, true).entrySet()) {
+                boolean isExact = entry.getKey().length() == keyword.length();
+                int[] list = entry.getValue();
+                for (int i = 0; i < list.length; i += 2) {
+                    int index = list[i];
+                    //Only arguments that matched all previous keywords are still candidates
+                    if (matched[index] < k) {
+                        continue;
+                    }
+                    matched[index] = k + 1;
+                    scores[index] += isExact ? list[i + 1] : Math.max(1, list[i + 1] / 2);
+                }
+            }
+        }
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            if (matched[i] == keywords.size()) {
+                found.add(i);
+            }
+        }
+        found.sort((first, second) -> scores[second] != scores[first] ? scores[second] - scores[first] : first - second);
+        List<Argument> result = new ArrayList<>(found.size());
+        for (int index : found) {
+            result.add(arguments.get(index));
+        }
+        return result;
+    }
+}
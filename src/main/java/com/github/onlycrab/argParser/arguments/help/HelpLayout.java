@@ -0,0 +1,153 @@
+package com.github.onlycrab.argParser.arguments.help;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Help output settings: terminal width, arguments filter and paging.
+ *
+ * <p>By default the layout matches {@link com.github.onlycrab.argParser.arguments.ArgumentStorage#getHelp()}:
+ * descriptions are not wrapped, all arguments are written and the project info is included.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ * @see HelpWriter
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class HelpLayout {
+    /**
+     * Minimum width of the description column when the descriptions are wrapped
+     */
+    public static final int DESCRIPTION_MIN_WIDTH = 20;
+
+    /**
+     * Terminal width. If 0 or less - descriptions are not wrapped
+     */
+    private int width;
+
+    /**
+     * Name prefix filter. If {@code null} - all arguments are written
+     */
+    private String prefix;
+
+    /**
+     * Number of matching arguments to skip
+     */
+    private int offset;
+
+    /**
+     * Maximum number of arguments to write
+     */
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Whether to write project info (description, usage and examples)
+     */
+    private boolean isInfoIncluded = true;
+
+    /**
+     * Returns terminal width. If 0 or less - descriptions are not wrapped.
+     *
+     * @return terminal width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Set terminal width. Argument descriptions are wrapped by words to fit into the width; if the width is too small,
+     * the description column will be at least {@link HelpLayout#DESCRIPTION_MIN_WIDTH} characters.
+     *
+     * @param value terminal width; 0 or less - do not wrap descriptions
+     * @return a reference to this object
+     */
+    public HelpLayout setWidth(int value) {
+        width = value;
+        return this;
+    }
+
+    /**
+     * Returns name prefix filter.
+     *
+     * @return name prefix filter, {@code null} if arguments are not filtered
+     */
+    @Nullable
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Set name prefix filter. Only arguments which short or long name starts with the prefix will be written.
+     *
+     * @param value name prefix; {@code null} - write all arguments
+     * @return a reference to this object
+     */
+    public HelpLayout setPrefix(@Nullable String value) {
+        prefix = value;
+        return this;
+    }
+
+    /**
+     * Returns number of matching arguments to skip.
+     *
+     * @return number of matching arguments to skip
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns maximum number of arguments to write.
+     *
+     * @return maximum number of arguments to write
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Set the page of arguments to write. The project info is written only with the first page.
+     *
+     * @param offset number of matching arguments to skip
+     * @param limit  maximum number of arguments to write
+     * @return a reference to this object
+     */
+    public HelpLayout setPage(int offset, int limit) {
+        this.offset = Math.max(0, offset);
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    /**
+     * Is project info (description, usage and examples) written.
+     *
+     * @return {@code true} if project info is written
+     */
+    public boolean isInfoIncluded() {
+        return isInfoIncluded && offset == 0;
+    }
+
+    /**
+     * Set whether to write project info (description, usage and examples).
+     *
+     * @param value {@code true} - write project info
+     * @return a reference to this object
+     */
+    public HelpLayout setInfoIncluded(boolean value) {
+        isInfoIncluded = value;
+        return this;
+    }
+
+    /**
+     * Is argument matches the filter.
+     *
+     * @param arg argument
+     * @return {@code true} if there is no filter or argument short or long name starts with the prefix
+     */
+    public boolean isMatches(Argument arg) {
+        if (prefix == null) {
+            return true;
+        }
+        return arg.getShortName().startsWith(prefix) || (arg.getLongName() != null && arg.getLongName().startsWith(prefix));
+    }
+}
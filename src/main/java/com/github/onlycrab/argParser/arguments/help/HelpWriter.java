@@ -0,0 +1,218 @@
+package com.github.onlycrab.argParser.arguments.help;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Fixed-width layout writer of help info.
+ *
+ * <p>Help rows are written straight to the {@link Appendable} (f.e. {@link StringBuilder},
+ * {@link java.io.Writer} or {@link java.io.PrintStream}) column by column, each column is padded with spaces
+ * to its width. The argument row layout is:<br>
+ * {@code "  -<shortName>, --<longName> <parameters> [Required] <description>"}</p>
+ *
+ * <p>If the terminal width is set, the description is wrapped by words and continuation lines are indented
+ * to the description column. Wrapping is performed while writing, without building intermediate strings.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class HelpWriter {
+    /**
+     * Space characters used for padding
+     */
+    private static final String SPACES = "                                                                ";
+
+    /**
+     * Target to write help to
+     */
+    private final Appendable out;
+
+    /**
+     * Create new writer.
+     *
+     * @param out target to write help to
+     */
+    public HelpWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Write project info: description, usage and examples. {@code null} parts are skipped.
+     *
+     * @param description project description text
+     * @param usage       project usage text
+     * @param example     project examples text
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeInfo(@Nullable String description, @Nullable String usage, @Nullable String example) throws IOException {
+        if (description != null) {
+            out.append(description).append("\n\n");
+        }
+        if (usage != null) {
+            out.append("Usage : \n").append(usage).append("\n\n");
+        }
+        if (example != null) {
+            out.append("Examples : \n").append(example).append("\n\n");
+        }
+    }
+
+    /**
+     * Write parameters section title.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeParametersTitle() throws IOException {
+        out.append("Parameters : ").append('\n');
+    }
+
+    /**
+     * Write argument help row.
+     *
+     * @param arg             argument
+     * @param shortNameWidth  width of the short name column
+     * @param longNameWidth   width of the long name column
+     * @param parametersWidth width of the parameters column
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeArgument(Argument arg, int shortNameWidth, int longNameWidth, int parametersWidth) throws IOException {
+        writeArgument(arg, shortNameWidth, longNameWidth, parametersWidth, 0);
+    }
+
+    /**
+     * Write argument help row, wrap the description to the terminal width.
+     *
+     * @param arg             argument
+     * @param shortNameWidth  width of the short name column
+     * @param longNameWidth   width of the long name column
+     * @param parametersWidth width of the parameters column
+     * @param width           terminal width; if 0 or less - description is not wrapped
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeArgument(Argument arg, int shortNameWidth, int longNameWidth, int parametersWidth, int width) throws IOException {
+        out.append("  -");
+        appendPadded(arg.getShortName(), ",", shortNameWidth + 1);
+        out.append(' ');
+        if (arg.getLongName() != null) {
+            out.append("--");
+            appendPadded(arg.getLongName(), "", longNameWidth);
+        } else {
+            out.append("  ");
+            appendPadded("", "", longNameWidth);
+        }
+        out.append(' ');
+        appendPadded(arg.getParameters(), "", parametersWidth);
+        out.append(' ');
+        int lineLength = 0;
+        if (arg.isRequiredBeDeclared()) {
+            out.append("[Required] ");
+            lineLength = 11;
+        }
+        if (width > 0) {
+            appendWrapped(arg.getDescription(), shortNameWidth + longNameWidth + parametersWidth + 9, width, lineLength);
+        } else {
+            out.append(arg.getDescription());
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Write {@code text} wrapped by words. Line breaks of the text are kept.
+     *
+     * @param text       text to write
+     * @param indent     indent of continuation lines
+     * @param width      terminal width
+     * @param lineLength number of characters already written to the current line after the indent
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendWrapped(String text, int indent, int width, int lineLength) throws IOException {
+        int column = Math.max(width - indent, HelpLayout.DESCRIPTION_MIN_WIDTH);
+        int pos = 0;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '\n') {
+                out.append('\n');
+                appendSpaces(indent);
+                lineLength = 0;
+                pos++;
+                continue;
+            } else if (c == ' ') {
+                pos++;
+                continue;
+            }
+            int end = pos;
+            while (end < text.length() && text.charAt(end) != ' ' && text.charAt(end) != '\n') {
+                end++;
+            }
+            if (lineLength > 0 && lineLength + 1 + end - pos > column) {
+                out.append('\n');
+                appendSpaces(indent);
+                lineLength = 0;
+            } else if (lineLength > 0) {
+                out.append(' ');
+                lineLength++;
+            }
+            //A word longer than the column is split
+            while (end - pos > column - lineLength) {
+                int chunk = column - lineLength;
+                out.append(text, pos, pos + chunk).append('\n');
+                appendSpaces(indent);
+                lineLength = 0;
+                pos += chunk;
+            }
+            out.append(text, pos, end);
+            lineLength += end - pos;
+            pos = end;
+        }
+    }
+
+    /**
+     * Write detailed description about argument.
+     *
+     * @param arg argument
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeDetails(Argument arg) throws IOException {
+        out.append("Short name : ").append(arg.getShortName()).append('\n')
+                .append("Full name : ").append((arg.getLongName() != null ? arg.getLongName() : "")).append('\n')
+                .append("Required : ").append((arg.isRequiredBeDeclared() ? "Yes" : "No")).append('\n');
+        if (arg.getParameters().length() > 0) {
+            out.append("Parameter : ").append(arg.getParameters()).append('\n');
+        }
+        out.append("Description : ");
+        if (!arg.getDescriptionDetailed().equals("")) {
+            out.append(arg.getDescriptionDetailed());
+        } else if (!arg.getDescription().equals("")) {
+            out.append(arg.getDescription());
+        }
+    }
+
+    /**
+     * Write {@code value} and {@code suffix}, and pad them with spaces to the {@code width}.
+     *
+     * @param value  value to write
+     * @param suffix suffix to write after value
+     * @param width  column width
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendPadded(String value, String suffix, int width) throws IOException {
+        out.append(value).append(suffix);
+        appendSpaces(width - value.length() - suffix.length());
+    }
+
+    /**
+     * Write {@code count} spaces.
+     *
+     * @param count number of spaces
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendSpaces(int count) throws IOException {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length());
+            out.append(SPACES, 0, chunk);
+            count -= chunk;
+        }
+    }
+}
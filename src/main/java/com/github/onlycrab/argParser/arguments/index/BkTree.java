@@ -0,0 +1,149 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree over words with the Levenshtein distance.
+ *
+ * <p>The tree finds all words within the given edit distance from a query without comparing the query to every
+ * word: by the triangle inequality, only subtrees whose distance to the node is within
+ * {@code [d - maxDistance, d + maxDistance]} can contain matches, where {@code d} is the distance between
+ * the query and the node word.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class BkTree {
+    /**
+     * Root node, {@code null} if the tree is empty
+     */
+    private Node root;
+
+    /**
+     * Number of words in the tree
+     */
+    private int size;
+
+    /**
+     * Add word to the tree. Duplicates are ignored.
+     *
+     * @param word word to add
+     */
+    public void add(String word) {
+        if (word == null) {
+            return;
+        }
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(node.word, word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the number of words in the tree.
+     *
+     * @return the number of words in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns words within {@code maxDistance} from the {@code query}, the closest first.
+     * Words at the same distance are sorted alphabetically.
+     *
+     * @param query       query word
+     * @param maxDistance maximum edit distance
+     * @return words within {@code maxDistance} from the {@code query}
+     */
+    public List<String> search(String query, int maxDistance) {
+        List<String> found = new ArrayList<>();
+        if (root == null || query == null || maxDistance < 0) {
+            return found;
+        }
+        //Matches grouped by distance
+        List<List<String>> buckets = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        List<Node> queue = new ArrayList<>();
+        queue.add(root);
+        for (int i = 0; i < queue.size(); i++) {
+            Node node = queue.get(i);
+            int distance = distance(node.word, query);
+            if (distance <= maxDistance) {
+                buckets.get(distance).add(node.word);
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    queue.add(child.getValue());
+                }
+            }
+        }
+        for (List<String> bucket : buckets) {
+            Collections.sort(bucket);
+            found.addAll(bucket);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the minimum number of single-character insertions,
+     * deletions and substitutions required to change one word into the other.
+     *
+     * @param first  first word
+     * @param second second word
+     * @return the Levenshtein distance
+     */
+    public static int distance(String first, String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            char c = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = c == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return previous[second.length()];
+    }
+
+    /**
+     * Tree node: word and children by their distance to the word.
+     */
+    private static class Node {
+        private final String word;
+        private final Map<Integer, Node> children;
+
+        Node(String word) {
+            this.word = word;
+            children = new HashMap<>();
+        }
+    }
+}
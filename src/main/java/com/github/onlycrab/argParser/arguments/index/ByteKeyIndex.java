@@ -0,0 +1,182 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Hash table with UTF-8 encoded string keys that can be looked up by a range of bytes.
+ *
+ * <p>Keys are encoded once when they are added. A lookup hashes and compares the bytes of the range in place,
+ * without decoding them and without allocating objects. The table uses open addressing with linear probing.</p>
+ *
+ * @param <T> type of values
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class ByteKeyIndex<T> {
+    /**
+     * Encoded keys, {@code null} for free slots
+     */
+    private byte[][] keys;
+
+    /**
+     * Values
+     */
+    private Object[] values;
+
+    /**
+     * Hashes of the keys
+     */
+    private int[] hashes;
+
+    /**
+     * Number of keys
+     */
+    private int size;
+
+    /**
+     * Create new index.
+     *
+     * @param expectedSize expected number of keys
+     */
+    public ByteKeyIndex(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new byte[capacity][];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add key. If the key already exists, its value is replaced.
+     *
+     * @param key   key; if {@code null} - do nothing
+     * @param value value
+     */
+    public void put(String key, T value) {
+        if (key == null) {
+            return;
+        }
+        byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(ByteBuffer.wrap(encoded), 0, encoded.length);
+        int slot = find(ByteBuffer.wrap(encoded), 0, encoded.length, hash);
+        if (keys[slot] == null) {
+            keys[slot] = encoded;
+            hashes[slot] = hash;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) {
+            resize();
+        }
+    }
+
+    /**
+     * Returns value by the key stored in the range of bytes.
+     *
+     * @param bytes  buffer
+     * @param offset absolute index of the first byte of the key
+     * @param length number of bytes of the key
+     * @return value, {@code null} if the key is not found
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T get(ByteBuffer bytes, int offset, int length) {
+        return (T) values[find(bytes, offset, length, hash(bytes, offset, length))];
+    }
+
+    /**
+     * Returns slot of the key, or the free slot where the key should be placed.
+     *
+     * @param bytes  buffer
+     * @param offset absolute index of the first byte of the key
+     * @param length number of bytes of the key
+     * @param hash   hash of the key
+     * @return slot index
+     */
+    private int find(ByteBuffer bytes, int offset, int length, int hash) {
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && isEqual(keys[slot], bytes, offset, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Double the capacity.
+     */
+    private void resize() {
+        byte[][] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = new byte[oldKeys.length * 2][];
+        values = new Object[oldKeys.length * 2];
+        hashes = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Returns hash of the range of bytes (FNV-1a).
+     *
+     * @param bytes  buffer
+     * @param offset absolute index of the first byte
+     * @param length number of bytes
+     * @return hash of the range
+     */
+    private static int hash(ByteBuffer bytes, int offset, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes.get(i) & 0xff)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compare key with the range of bytes.
+     *
+     * @param key    encoded key
+     * @param bytes  buffer
+     * @param offset absolute index of the first byte
+     * @param length number of bytes
+     * @return {@code true} if the key equals the range of bytes
+     */
+    private static boolean isEqual(byte[] key, ByteBuffer bytes, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
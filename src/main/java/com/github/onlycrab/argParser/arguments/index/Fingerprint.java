@@ -0,0 +1,152 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+/**
+ * Immutable 128-bit content hash.
+ *
+ * <p>A fingerprint is built step by step: {@link Fingerprint#then(String)} and similar methods mix the next
+ * part into the hash, so the order of the parts matters. Fingerprints of the elements of an unordered collection
+ * are combined by {@link Fingerprint#plus(Fingerprint)}, which does not depend on the order.</p>
+ *
+ * <p>Different fingerprints mean different contents. Equal fingerprints mean equal contents with a very high
+ * probability, but not for sure, so equal fingerprints must be confirmed by a full comparison.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public final class Fingerprint {
+    /**
+     * Fingerprint of empty content
+     */
+    public static final Fingerprint EMPTY = new Fingerprint(0x6A09E667F3BCC908L, 0xBB67AE8584CAA73BL);
+
+    /**
+     * Fingerprint of an empty unordered collection
+     */
+    public static final Fingerprint ZERO = new Fingerprint(0L, 0L);
+
+    private final long high;
+    private final long low;
+
+    /**
+     * Create new fingerprint.
+     *
+     * @param high high 64 bits
+     * @param low  low 64 bits
+     */
+    public Fingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Returns high 64 bits of the fingerprint.
+     *
+     * @return high 64 bits
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns low 64 bits of the fingerprint.
+     *
+     * @return low 64 bits
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Mix string into the fingerprint. {@code null} and empty string give different fingerprints.
+     *
+     * @param part string to mix
+     * @return new fingerprint
+     */
+    public Fingerprint then(String part) {
+        long h = high;
+        long l = low;
+        if (part == null) {
+            return mix(h ^ 0x9E3779B97F4A7C15L, l + 1);
+        }
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            h = (h ^ c) * 0x100000001B3L;
+            l = Long.rotateLeft(l + c * 0x9E3779B97F4A7C15L, 31) * 0xBF58476D1CE4E5B9L;
+        }
+        return mix(h ^ part.length(), l + part.length());
+    }
+
+    /**
+     * Mix boolean into the fingerprint.
+     *
+     * @param part boolean to mix
+     * @return new fingerprint
+     */
+    public Fingerprint then(boolean part) {
+        return mix(high ^ (part ? 0x5851F42D4C957F2DL : 0x14057B7EF767814FL), low + (part ? 3 : 5));
+    }
+
+    /**
+     * Mix other fingerprint into the fingerprint.
+     *
+     * @param part fingerprint to mix
+     * @return new fingerprint
+     */
+    public Fingerprint then(Fingerprint part) {
+        return mix(high ^ part.low, Long.rotateLeft(low, 17) + part.high);
+    }
+
+    /**
+     * Combine fingerprints of unordered elements. The result does not depend on the order of combining.
+     *
+     * @param other fingerprint of other element
+     * @return new fingerprint
+     */
+    public Fingerprint plus(Fingerprint other) {
+        return new Fingerprint(high + other.high, low + other.low);
+    }
+
+    /**
+     * Apply finalization to both halves so that every bit of the input affects every bit of the result.
+     *
+     * @param h high half
+     * @param l low half
+     * @return new fingerprint
+     */
+    private static Fingerprint mix(long h, long l) {
+        return new Fingerprint(avalanche(h + Long.rotateLeft(l, 29)), avalanche(l ^ Long.rotateLeft(h, 41)));
+    }
+
+    /**
+     * Finalization function of the SplitMix64 generator.
+     *
+     * @param value value to mix
+     * @return mixed value
+     */
+    private static long avalanche(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (high ^ (high >>> 32) ^ low ^ (low >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof Fingerprint)) {
+            return false;
+        }
+        Fingerprint another = (Fingerprint) obj;
+        return high == another.high && low == another.low;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
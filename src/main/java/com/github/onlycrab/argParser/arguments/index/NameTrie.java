@@ -0,0 +1,249 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix tree over names for resolving abbreviations and completing names.
+ *
+ * <p>Nodes are kept in parallel arrays: the label character, the first child and the next sibling of each node.
+ * Children are linked in the order of their characters, so names are enumerated alphabetically. Each node counts
+ * the names below it and keeps one of them, so a prefix shared by a single name is resolved by walking
+ * the prefix, without visiting the rest of the subtree.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class NameTrie {
+    /**
+     * No node or no name
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Names in the order of adding
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Character of the edge that leads to the node
+     */
+    private char[] labels = new char[16];
+
+    /**
+     * First child of the node
+     */
+    private int[] children = new int[16];
+
+    /**
+     * Next sibling of the node
+     */
+    private int[] siblings = new int[16];
+
+    /**
+     * Number of names that start with the prefix of the node
+     */
+    private int[] counts = new int[16];
+
+    /**
+     * Any name that starts with the prefix of the node
+     */
+    private int[] samples = new int[16];
+
+    /**
+     * Name that equals the prefix of the node
+     */
+    private int[] terminals = new int[16];
+
+    /**
+     * Number of nodes, the root is node 0
+     */
+    private int nodeCount;
+
+    /**
+     * Create empty trie.
+     */
+    public NameTrie() {
+        newNode('\0');
+    }
+
+    /**
+     * Add name to the trie. Duplicates and {@code null} are ignored.
+     *
+     * @param name name to add
+     */
+    public void add(String name) {
+        if (name == null) {
+            return;
+        }
+        int existing = find(name);
+        if (existing != NONE && terminals[existing] >= 0) {
+            return;
+        }
+        int id = names.size();
+        names.add(name);
+        int node = 0;
+        visit(node, id);
+        for (int i = 0; i < name.length(); i++) {
+            node = child(node, name.charAt(i));
+            visit(node, id);
+        }
+        terminals[node] = id;
+    }
+
+    /**
+     * Returns the number of names in the trie.
+     *
+     * @return the number of names in the trie
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the name that is equal to the {@code prefix} or the only name that starts with the {@code prefix}.
+     * Takes {@code O(prefix length)}.
+     *
+     * @param prefix name or its abbreviation
+     * @return the matching name; {@code null} if no name or several names start with the {@code prefix}
+     */
+    public String resolve(CharSequence prefix) {
+        int node = find(prefix);
+        if (node == NONE) {
+            return null;
+        } else if (terminals[node] >= 0) {
+            return names.get(terminals[node]);
+        } else if (counts[node] == 1) {
+            return names.get(samples[node]);
+        }
+        return null;
+    }
+
+    /**
+     * Returns all names that start with the {@code prefix} in alphabetical order.
+     *
+     * @param prefix name prefix; empty prefix matches all names
+     * @return names that start with the {@code prefix}
+     */
+    public List<String> complete(CharSequence prefix) {
+        List<String> found = new ArrayList<>();
+        int node = find(prefix);
+        if (node != NONE) {
+            collect(node, found);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of names that start with the {@code prefix}.
+     *
+     * @param prefix name prefix
+     * @return the number of names that start with the {@code prefix}
+     */
+    public int count(CharSequence prefix) {
+        int node = find(prefix);
+        return node != NONE ? counts[node] : 0;
+    }
+
+    /**
+     * Find the node of the prefix.
+     *
+     * @param prefix name prefix
+     * @return node of the prefix, {@link NameTrie#NONE} if no name starts with the prefix
+     */
+    private int find(CharSequence prefix) {
+        if (prefix == null) {
+            return NONE;
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node != NONE; i++) {
+            char c = prefix.charAt(i);
+            int child = children[node];
+            while (child != NONE && labels[child] < c) {
+                child = siblings[child];
+            }
+            node = child != NONE && labels[child] == c ? child : NONE;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the child of the node by the character, creating it if needed. Children are kept sorted.
+     *
+     * @param node parent node
+     * @param c    edge character
+     * @return child node
+     */
+    private int child(int node, char c) {
+        int previous = NONE;
+        int child = children[node];
+        while (child != NONE && labels[child] < c) {
+            previous = child;
+            child = siblings[child];
+        }
+        if (child != NONE && labels[child] == c) {
+            return child;
+        }
+        int created = newNode(c);
+        siblings[created] = child;
+        if (previous == NONE) {
+            children[node] = created;
+        } else {
+            siblings[previous] = created;
+        }
+        return created;
+    }
+
+    /**
+     * Count the name in the node.
+     *
+     * @param node node on the path of the name
+     * @param id   name ID
+     */
+    private void visit(int node, int id) {
+        if (counts[node]++ == 0) {
+            samples[node] = id;
+        }
+    }
+
+    /**
+     * Add all names of the subtree to the list in alphabetical order.
+     *
+     * @param node  subtree root
+     * @param found list of names
+     */
+    private void collect(int node, List<String> found) {
+        if (terminals[node] >= 0) {
+            found.add(names.get(terminals[node]));
+        }
+        for (int child = children[node]; child != NONE; child = siblings[child]) {
+            collect(child, found);
+        }
+    }
+
+    /**
+     * Create new node.
+     *
+     * @param label edge character
+     * @return new node
+     */
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = nodeCount * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            children = Arrays.copyOf(children, capacity);
+            siblings = Arrays.copyOf(siblings, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            samples = Arrays.copyOf(samples, capacity);
+            terminals = Arrays.copyOf(terminals, capacity);
+        }
+        labels[nodeCount] = label;
+        children[nodeCount] = NONE;
+        siblings[nodeCount] = NONE;
+        counts[nodeCount] = 0;
+        samples[nodeCount] = NONE;
+        terminals[nodeCount] = NONE;
+        return nodeCount++;
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Table of interned argument names. Each name gets a unique non-negative ID when it is interned for the first time,
+ * and the same name always gets the same ID, so names can be compared and hashed as integers.
+ *
+ * <p>The table is shared by all storages, so the names of equal arguments from different storages have the same
+ * IDs. Names are never removed, so only names of defined arguments should be interned; use
+ * {@link SymbolTable#find(String)} for names from the input.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public final class SymbolTable {
+    /**
+     * ID of the missing name
+     */
+    public static final int NONE = -1;
+
+    /**
+     * IDs of names
+     */
+    private static final ConcurrentHashMap<String, Integer> symbols = new ConcurrentHashMap<>();
+
+    /**
+     * Next free ID
+     */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private SymbolTable() {
+    }
+
+    /**
+     * Returns ID of the name, interning the name if needed.
+     *
+     * @param name name to intern
+     * @return ID of the name, {@link SymbolTable#NONE} if {@code name} is {@code null}
+     */
+    public static int intern(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = symbols.get(name);
+        if (id == null) {
+            id = symbols.computeIfAbsent(name, key -> nextId.getAndIncrement());
+        }
+        return id;
+    }
+
+    /**
+     * Returns ID of the name without interning it.
+     *
+     * @param name name to find
+     * @return ID of the name, {@link SymbolTable#NONE} if {@code name} is {@code null} or not interned
+     */
+    public static int find(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = symbols.get(name);
+        return id != null ? id : NONE;
+    }
+
+    /**
+     * Returns the number of interned names.
+     *
+     * @return the number of interned names
+     */
+    public static int size() {
+        return symbols.size();
+    }
+}
@@ -0,0 +1,262 @@
+package com.github.onlycrab.argParser.common;
+
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizer of a command line with POSIX shell quoting.
+ *
+ * <p>The quoting rules are as follows:<br>
+ * - tokens are separated by spaces, tabs and line breaks;<br>
+ * - characters inside single quotes are taken literally;<br>
+ * - inside double quotes a backslash escapes {@code $}, {@code `}, {@code "}, {@code \} and a line break,
+ * before other characters the backslash is kept;<br>
+ * - outside of quotes a backslash escapes any character;<br>
+ * - an escaped line break joins the lines.<br>
+ * Variables, globs and other expansions are not performed.</p>
+ *
+ * <p>The tokenizer is a cursor over the line: {@link CommandLineTokenizer#next()} moves to the next token and
+ * the token is described by its offsets in the line. Tokens without quotes and escapes (the most common case)
+ * are returned by {@link CommandLineTokenizer#getToken()} as views of the line, without copying;
+ * other tokens are unescaped into a reused buffer.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class CommandLineTokenizer {
+    /**
+     * Command line
+     */
+    private final CharSequence line;
+
+    /**
+     * Position of the scan
+     */
+    private int pos;
+
+    /**
+     * Offset of the first character of the current token
+     */
+    private int start;
+
+    /**
+     * Offset after the last character of the current token
+     */
+    private int end;
+
+    /**
+     * Whether the current token has no quotes and escapes
+     */
+    private boolean isPlain;
+
+    /**
+     * Buffer for unescaping tokens
+     */
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * Unescaped current token, {@code null} if not yet unescaped
+     */
+    private String value;
+
+    /**
+     * Create new tokenizer.
+     *
+     * @param line command line
+     */
+    public CommandLineTokenizer(CharSequence line) {
+        this.line = line != null ? line : "";
+    }
+
+    /**
+     * Split command line into tokens.
+     *
+     * @param line command line
+     * @return unescaped tokens
+     * @throws ArgumentException if a quote is not closed
+     */
+    public static String[] split(CharSequence line) throws ArgumentException {
+        List<String> tokens = new ArrayList<>();
+        CommandLineTokenizer tokenizer = new CommandLineTokenizer(line);
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.getValue());
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Move to the next token.
+     *
+     * @return {@code false} if there are no more tokens
+     * @throws ArgumentException if a quote is not closed
+     */
+    public boolean next() throws ArgumentException {
+        int length = line.length();
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (c == '\\' && pos + 1 < length && line.charAt(pos + 1) == '\n') {
+                pos += 2;
+            } else if (isSeparator(c)) {
+                pos++;
+            } else {
+                break;
+            }
+        }
+        value = null;
+        start = pos;
+        isPlain = true;
+        if (pos == length) {
+            end = pos;
+            return false;
+        }
+        while (pos < length) {
+            char c = line.charAt(pos);
+            if (isSeparator(c)) {
+                break;
+            } else if (c == '\'') {
+                isPlain = false;
+                pos++;
+                while (pos < length && line.charAt(pos) != '\'') {
+                    pos++;
+                }
+                if (pos == length) throw new ArgumentException("Unclosed single quote at position " + start + ".");
+                pos++;
+            } else if (c == '"') {
+                isPlain = false;
+                pos++;
+                while (pos < length && line.charAt(pos) != '"') {
+                    pos += line.charAt(pos) == '\\' ? 2 : 1;
+                }
+                if (pos >= length) throw new ArgumentException("Unclosed double quote at position " + start + ".");
+                pos++;
+            } else if (c == '\\') {
+                isPlain = false;
+                pos = Math.min(pos + 2, length);
+            } else {
+                pos++;
+            }
+        }
+        end = pos;
+        return true;
+    }
+
+    /**
+     * Returns offset of the first character of the current token in the line, including quotes.
+     *
+     * @return offset of the first character of the current token
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns offset after the last character of the current token in the line, including quotes.
+     *
+     * @return offset after the last character of the current token
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Is the current token without quotes and escapes, so that its value is the range of the line.
+     *
+     * @return {@code true} if the current token has no quotes and escapes
+     */
+    public boolean isPlain() {
+        return isPlain;
+    }
+
+    /**
+     * Returns the current token. A plain token is a view of the line, other tokens are unescaped.
+     *
+     * @return the current token
+     */
+    @NotNull
+    public CharSequence getToken() {
+        if (isPlain) {
+            return CharBuffer.wrap(line, start, end);
+        }
+        return getValue();
+    }
+
+    /**
+     * Returns the current token unescaped as string.
+     *
+     * @return the current token
+     */
+    @NotNull
+    public String getValue() {
+        if (value == null) {
+            if (isPlain) {
+                value = line.subSequence(start, end).toString();
+            } else {
+                value = unescape();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Remove quotes and escapes from the current token.
+     *
+     * @return unescaped token
+     */
+    private String unescape() {
+        buffer.setLength(0);
+        int i = start;
+        while (i < end) {
+            char c = line.charAt(i);
+            if (c == '\'') {
+                int close = i + 1;
+                while (line.charAt(close) != '\'') {
+                    close++;
+                }
+                buffer.append(line, i + 1, close);
+                i = close + 1;
+            } else if (c == '"') {
+                i++;
+                while (line.charAt(i) != '"') {
+                    char inner = line.charAt(i);
+                    if (inner == '\\') {
+                        char escaped = line.charAt(i + 1);
+                        if (escaped == '\n') {
+                            i += 2;
+                            continue;
+                        } else if (escaped == '$' || escaped == '`' || escaped == '"' || escaped == '\\') {
+                            buffer.append(escaped);
+                            i += 2;
+                            continue;
+                        }
+                    }
+                    buffer.append(inner);
+                    i++;
+                }
+                i++;
+            } else if (c == '\\') {
+                if (i + 1 < end && line.charAt(i + 1) != '\n') {
+                    buffer.append(line.charAt(i + 1));
+                }
+                i += 2;
+            } else {
+                buffer.append(c);
+                i++;
+            }
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Is character a token separator.
+     *
+     * @param c character to check
+     * @return {@code true} for space, tab and line breaks
+     */
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+}
@@ -1,14 +1,31 @@
 package com.github.onlycrab.argParser.common;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Helper class for reading data from external sources.
  *
+ * <p>Data is read in blocks; line breaks {@code \r\n} and {@code \r} are replaced with {@code \n},
+ * and the last line is always terminated by {@code \n}.</p>
+ *
  * @author Roman Rynkovich
  * @version 1.0
  */
 public class ExternalReader {
+    /**
+     * Size of the block of characters read at once
+     */
+    private static final int BLOCK_SIZE = 8192;
+
     /**
      * Read data from {@code java.io.InputStream} to {@code String}.
      *
@@ -17,25 +34,20 @@ public class ExternalReader {
      * @throws IOException if an I/O error occurs
      */
     public static String readStream(InputStream is) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        String line;
-        BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-        while ((line = reader.readLine()) != null) {
-            sb.append(line).append('\n');
+        try (Reader reader = new InputStreamReader(is)) {
+            return read(reader, BLOCK_SIZE);
         }
-        reader.close();
-        return sb.toString();
     }
 
     /**
-     * Read data from {@code java.io.File} to {@code String}.
+     * Read data from {@code java.io.File} to {@code String}. The file is memory-mapped and decoded
+     * with the default charset.
      *
      * @param path path to file
      * @return data from file as string
      * @throws IOException if an I/O error occurs
      */
     public static String readFile(String path) throws IOException {
-        StringBuilder sb = new StringBuilder();
         if (path == null) {
             throw new IOException("File is <null>");
         }
@@ -44,17 +56,129 @@ public class ExternalReader {
             throw new IOException("File <" + path + "> is not exists");
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append("\n");
-            }
+        try (Reader reader = openMapped(path, Charset.defaultCharset())) {
+            return read(reader, (int) Math.min(file.length() + 1, Integer.MAX_VALUE - 8));
         } catch (IOException e) {
             IOException th = new IOException(String.format("Error at reading file <%s> : %s", path, e.getMessage()));
             th.setStackTrace(e.getStackTrace());
             throw th;
         }
+    }
+
+    /**
+     * Open memory-mapped file as a character stream. Characters are decoded block by block while reading,
+     * malformed input is replaced with the charset replacement.
+     *
+     * @param path    path to file
+     * @param charset file charset
+     * @return character stream of the file
+     * @throws IOException if an I/O error occurs; if the file is larger than 2 GB
+     */
+    public static Reader openMapped(String path, Charset charset) throws IOException {
+        if (path == null) {
+            throw new IOException("File is <null>");
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            throw new IOException("File <" + path + "> is not exists");
+        }
+        //The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File <" + path + "> is too large");
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new DecodingReader(bytes, charset);
+        }
+    }
 
+    /**
+     * Read all characters and normalize line breaks.
+     *
+     * @param reader   source of characters
+     * @param capacity expected number of characters
+     * @return read characters as string
+     * @throws IOException if an I/O error occurs
+     */
+    private static String read(Reader reader, int capacity) throws IOException {
+        StringBuilder sb = new StringBuilder(capacity);
+        char[] buffer = new char[BLOCK_SIZE];
+        boolean isCr = false;
+        int count;
+        while ((count = reader.read(buffer)) >= 0) {
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                char c = buffer[i];
+                if (c == '\r') {
+                    sb.append(buffer, start, i - start).append('\n');
+                    start = i + 1;
+                    isCr = true;
+                } else if (c == '\n' && isCr) {
+                    //Second half of \r\n, \n is already written
+                    start = i + 1;
+                    isCr = false;
+                } else {
+                    isCr = false;
+                }
+            }
+            sb.append(buffer, start, count - start);
+        }
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '\n') {
+            sb.append('\n');
+        }
         return sb.toString();
     }
+
+    /**
+     * Character stream decoded from a byte buffer.
+     */
+    private static class DecodingReader extends Reader {
+        private final ByteBuffer bytes;
+        private final CharsetDecoder decoder;
+        private final CharBuffer chars;
+        private boolean isFlushing;
+        private boolean isFinished;
+
+        DecodingReader(ByteBuffer bytes, Charset charset) {
+            this.bytes = bytes;
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate(BLOCK_SIZE);
+            chars.flip();
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (!chars.hasRemaining()) {
+                if (isFinished) {
+                    return -1;
+                }
+                chars.clear();
+                if (!isFlushing) {
+                    CoderResult result = decoder.decode(bytes, chars, true);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    isFlushing = result.isUnderflow();
+                }
+                if (isFlushing && decoder.flush(chars).isUnderflow()) {
+                    isFinished = true;
+                }
+                chars.flip();
+            }
+            int count = Math.min(len, chars.remaining());
+            chars.get(cbuf, off, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+            isFinished = true;
+            chars.clear().flip();
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package com.github.onlycrab.argParser.common;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull tokenizer of argument files.
+ *
+ * <p>Characters are read from the {@link Reader} through a fixed-size buffer, and each call of
+ * {@link TokenReader#next()} returns one token, so the whole input is never held in memory.
+ * The syntax is as follows:<br>
+ * - tokens are separated by whitespace characters;<br>
+ * - characters inside single quotes are taken literally;<br>
+ * - inside double quotes a backslash escapes a double quote or a backslash, other characters are taken literally;<br>
+ * - outside of quotes a backslash escapes any character;<br>
+ * - a backslash followed by a line break joins the lines;<br>
+ * - a {@code #} at the start of a token begins a comment up to the end of the line.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public class TokenReader implements Closeable {
+    /**
+     * Source of characters
+     */
+    private final Reader reader;
+
+    /**
+     * Read buffer
+     */
+    private final char[] buffer = new char[8192];
+
+    /**
+     * Position of the next character in the buffer
+     */
+    private int pos;
+
+    /**
+     * Number of characters in the buffer
+     */
+    private int limit;
+
+    /**
+     * Token under construction
+     */
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Create new tokenizer.
+     *
+     * @param reader source of characters
+     */
+    public TokenReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next token.
+     *
+     * @return the next token, {@code null} if there are no more tokens
+     * @throws IOException if an I/O error occurs; if a quote is not closed
+     */
+    @Nullable
+    public String next() throws IOException {
+        int c = read();
+        while (true) {
+            if (c < 0) {
+                return null;
+            } else if (c == '#') {
+                while (c >= 0 && c != '\n' && c != '\r') {
+                    c = read();
+                }
+            } else if (c == '\\' && (peek() == '\n' || peek() == '\r')) {
+                skipLineBreak();
+                c = read();
+            } else if (Character.isWhitespace(c)) {
+                c = read();
+            } else {
+                break;
+            }
+        }
+        token.setLength(0);
+        while (c >= 0 && !Character.isWhitespace(c)) {
+            if (c == '\'') {
+                while ((c = read()) != '\'') {
+                    if (c < 0) throw new IOException("Unclosed single quote in token <" + token + ">");
+                    token.append((char) c);
+                }
+            } else if (c == '"') {
+                while ((c = read()) != '"') {
+                    if (c < 0) throw new IOException("Unclosed double quote in token <" + token + ">");
+                    if (c == '\\') {
+                        int escaped = peek();
+                        if (escaped == '"' || escaped == '\\') {
+                            c = read();
+                        } else if (escaped == '\n' || escaped == '\r') {
+                            skipLineBreak();
+                            continue;
+                        }
+                    }
+                    token.append((char) c);
+                }
+            } else if (c == '\\') {
+                int escaped = peek();
+                if (escaped == '\n' || escaped == '\r') {
+                    skipLineBreak();
+                    c = read();
+                    continue;
+                } else if (escaped >= 0) {
+                    token.append((char) read());
+                }
+            } else {
+                token.append((char) c);
+            }
+            c = read();
+        }
+        return token.toString();
+    }
+
+    /**
+     * Skip line break after a backslash.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void skipLineBreak() throws IOException {
+        if (read() == '\r' && peek() == '\n') {
+            read();
+        }
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return the next character, -1 at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos];
+    }
+
+    /**
+     * Returns and consumes the next character.
+     *
+     * @return the next character, -1 at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    /**
+     * Read the next portion of characters to the buffer.
+     *
+     * @return {@code false} at the end of input
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = reader.read(buffer, 0, buffer.length);
+        } while (count == 0);
+        if (count < 0) {
+            return false;
+        }
+        pos = 0;
+        limit = count;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.onlycrab.argParser.common;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Character sequence backed by a range of UTF-8 bytes.
+ *
+ * <p>The bytes are not copied and not decoded until the characters are needed: the first call of any
+ * {@link CharSequence} method decodes the range and caches the string. The backing buffer must not be changed
+ * while the slice is in use.</p>
+ *
+ * @author Roman Rynkovich
+ * @version 1.0
+ */
+public final class Utf8Slice implements CharSequence {
+    /**
+     * Backing buffer
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Absolute index of the first byte in the buffer
+     */
+    private final int offset;
+
+    /**
+     * Number of bytes
+     */
+    private final int length;
+
+    /**
+     * Decoded string, {@code null} until the slice is decoded
+     */
+    private String decoded;
+
+    /**
+     * Create new slice.
+     *
+     * @param bytes  backing buffer
+     * @param offset absolute index of the first byte in the buffer
+     * @param length number of bytes
+     */
+    public Utf8Slice(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Is slice empty. Unlike {@link Utf8Slice#length()}, does not decode the slice.
+     *
+     * @return {@code true} if the slice has no bytes
+     */
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Is slice decoded.
+     *
+     * @return {@code true} if the slice has been decoded
+     */
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        if (decoded == null) {
+            if (bytes.hasArray()) {
+                decoded = new String(bytes.array(), bytes.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+            } else {
+                byte[] copy = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    copy[i] = bytes.get(offset + i);
+                }
+                decoded = new String(copy, StandardCharsets.UTF_8);
+            }
+        }
+        return decoded;
+    }
+}
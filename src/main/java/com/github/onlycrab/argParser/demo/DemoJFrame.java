@@ -1,6 +1,8 @@
 package com.github.onlycrab.argParser.demo;
 
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
 import com.github.onlycrab.argParser.arguments.xml.Validator;
+import com.github.onlycrab.argParser.common.CommandLineTokenizer;
 import com.github.onlycrab.argParser.common.ExternalReader;
 
 import javax.swing.*;
@@ -15,8 +17,6 @@ import java.awt.event.ItemEvent;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
@@ -206,16 +206,23 @@ class DemoJFrame extends JFrame {
             if (comboBoxExample.getSelectedItem() == null) {
                 return;
             }
+            String[] args;
+            try {
+                args = CommandLineTokenizer.split(textFieldExampleIn.getText());
+            } catch (ArgumentException ex) {
+                textAreaExampleOut.setText(ex.getMessage());
+                return;
+            }
             if (comboBoxExample.getSelectedItem().equals(DemoExamples.BASIC.NAME)) {
-                textAreaExampleOut.setText(SimplyExample.main(splitArgs(textFieldExampleIn.getText())));
+                textAreaExampleOut.setText(SimplyExample.main(args));
             } else if (comboBoxExample.getSelectedItem().equals(DemoExamples.CONVERTER.NAME)) {
-                textAreaExampleOut.setText(ConverterExample.main(splitArgs(textFieldExampleIn.getText())));
+                textAreaExampleOut.setText(ConverterExample.main(args));
             } else if (comboBoxExample.getSelectedItem().equals(DemoExamples.DEPENDENCIES.NAME)) {
-                textAreaExampleOut.setText(DependenciesExample.main(splitArgs(textFieldExampleIn.getText())));
+                textAreaExampleOut.setText(DependenciesExample.main(args));
             } else if (comboBoxExample.getSelectedItem().equals(DemoExamples.RULES.NAME)) {
-                textAreaExampleOut.setText(CustomRulesExample.main(splitArgs(textFieldExampleIn.getText())));
+                textAreaExampleOut.setText(CustomRulesExample.main(args));
             } else if (comboBoxExample.getSelectedItem().equals(DemoExamples.XML.NAME)) {
-                textAreaExampleOut.setText(XMLExample.main(splitArgs(textFieldExampleIn.getText())));
+                textAreaExampleOut.setText(XMLExample.main(args));
             }
             textAreaExampleOut.setCaretPosition(0);
         });
@@ -451,87 +458,6 @@ class DemoJFrame extends JFrame {
         return ExternalReader.readStream(getClass().getClassLoader().getResourceAsStream(resource));
     }
 
-    /**
-     * Split input line to array.
-     *
-     * @param argsLine input console string
-     * @return input line like array
-     */
-    private String[] splitArgs(String argsLine) {
-        if (argsLine == null) {
-            return new String[0];
-        } else if (argsLine.length() == 0) {
-            return new String[0];
-        } else if (argsLine.length() < 2) {
-            return new String[]{argsLine};
-        } else if (argsLine.indexOf('"') < 0) {
-            return argsLine.split(" ");
-        }
-        List<String> list = new ArrayList<>();
-        char[] argsChars = argsLine.toCharArray();
-        int quotesCount = 0;
-        for (char c : argsChars) {
-            if (c == '"') {
-                quotesCount++;
-            }
-        }
-        StringBuilder sb = new StringBuilder();
-        boolean inQuotes = false;
-        for (int i = 0; i < argsChars.length; i++) {
-            if (argsChars[i] == '"') {
-                quotesCount--;
-                if (i != argsChars.length - 1) {
-                    if (inQuotes) {
-                        if (argsChars[i + 1] == ' ') {
-                            list.add(sb.toString());
-                            sb = new StringBuilder();
-                            inQuotes = false;
-                        } else {
-                            sb.append(argsChars[i]);
-                        }
-                    } else {
-                        if (quotesCount > 0) {
-                            inQuotes = true;
-                        } else {
-                            sb.append(argsChars[i]);
-                        }
-                    }
-                } else {
-                    //END
-                    if (inQuotes) {
-                        list.add(sb.toString());
-                        inQuotes = false;
-                    } else {
-                        list.add("\"");
-                    }
-                }
-            } else {
-                if (i != argsChars.length - 1) {
-                    if (argsChars[i] == ' ') {
-                        if (inQuotes) {
-                            sb.append(argsChars[i]);
-                        } else {
-                            if (sb.length() > 0) {
-                                list.add(sb.toString());
-                                sb = new StringBuilder();
-                            }
-                        }
-                    } else {
-                        sb.append(argsChars[i]);
-                    }
-                } else {
-                    //END
-                    sb.append(argsChars[i]);
-                    list.add(sb.toString());
-                }
-            }
-        }
-
-        String[] res = new String[list.size()];
-        list.toArray(res);
-        return res;
-    }
-
     private static final class ComboBoxItem {
         private final String text;
 
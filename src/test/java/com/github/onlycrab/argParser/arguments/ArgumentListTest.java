@@ -43,6 +43,44 @@ public class ArgumentListTest {
         }
     }
 
+    /**
+     * Test {@link ArgumentList#addAll(java.util.Collection)} and {@link ArgumentList#addAll(int, java.util.Collection)}.
+     */
+    @Test
+    public void addAll() {
+        try {
+            ArgumentList list = new ArgumentList();
+            list.add(new Argument("a1", "arg1"));
+
+            List<Argument> arguments = new ArrayList<>();
+            arguments.add(new Argument("a2", "arg2"));
+            //Arguments with duplicate names will be absorbed, also within the collection
+            arguments.add(new Argument("a2", "arg3"));
+            arguments.add(new Argument("a3", "arg3"));
+            arguments.add(null);
+            arguments.add(new Argument("a1", "arg4"));
+            Assert.assertTrue(list.addAll(arguments));
+            Assert.assertEquals(2, list.size());
+            Assert.assertEquals("a1,arg4;a3,arg3;", argNamesInLine(list));
+            Assert.assertSame(list.get(1), list.get("arg3"));
+            Assert.assertNull(list.get("arg1"));
+
+            arguments.clear();
+            arguments.add(new Argument("a4", "arg5"));
+            arguments.add(new Argument("a5", null));
+            Assert.assertTrue(list.addAll(1, arguments));
+            Assert.assertEquals("a1,arg4;a4,arg5;a5,null;a3,arg3;", argNamesInLine(list));
+            Assert.assertFalse(list.addAll(new ArrayList<>()));
+            try {
+                list.addAll(5, arguments);
+                Assert.fail("IndexOutOfBoundsException expected");
+            } catch (IndexOutOfBoundsException ignored) {
+            }
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException occurred : " + e.getMessage());
+        }
+    }
+
     private String argNamesInLine(ArgumentList list) {
         StringBuilder sb = new StringBuilder();
         for (Argument tmp : list) {
@@ -81,6 +119,34 @@ public class ArgumentListTest {
         }
     }
 
+    /**
+     * Test {@link ArgumentList#ordinalOf(String)}.
+     */
+    @Test
+    public void ordinalOf() {
+        try {
+            ArgumentList list = new ArgumentList();
+            list.add(new Argument("a1", "arg1"));
+            list.add(new Argument("a2", null));
+            Assert.assertEquals(0, list.ordinalOf("arg1"));
+            Assert.assertEquals(1, list.ordinalOf("a2"));
+            Assert.assertEquals(-1, list.ordinalOf("arg2"));
+            Assert.assertEquals(-1, list.ordinalOf(null));
+
+            //The index follows absorbing and removing
+            list.add(new Argument("a2", "arg2"));
+            Assert.assertEquals(1, list.ordinalOf("arg2"));
+            list.remove(0);
+            Assert.assertEquals(-1, list.ordinalOf("a1"));
+            Assert.assertEquals(0, list.ordinalOf("arg2"));
+            list.set(0, new Argument("a3", null));
+            Assert.assertEquals(-1, list.ordinalOf("a2"));
+            Assert.assertEquals(0, list.ordinalOf("a3"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
     /**
      * Test {@link ArgumentList#containsKey(Object)}.
      */
@@ -160,6 +226,17 @@ public class ArgumentListTest {
             Assert.assertNotEquals(list1, list2);
             list1.add(new Argument("a2", "arg2"));
             Assert.assertEquals(list1, list2);
+            Assert.assertEquals(list1.getFingerprint(), list2.getFingerprint());
+
+            //Order of arguments does not matter
+            list1 = new ArgumentList();
+            list1.add(new Argument("a2", "arg2"));
+            list1.add(new Argument("a1", "arg1"));
+            Assert.assertEquals(list1, list2);
+            Assert.assertEquals(list1.getFingerprint(), list2.getFingerprint());
+            list1.get(0).setValue("v");
+            Assert.assertNotEquals(list1, list2);
+            Assert.assertNotEquals(list1.getFingerprint(), list2.getFingerprint());
         } catch (ArgumentException e) {
             Assert.fail("Unexpected ArgumentException occurred : " + e.getMessage());
         }
@@ -1,10 +1,20 @@
 package com.github.onlycrab.argParser.arguments;
 
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import com.github.onlycrab.argParser.arguments.exceptions.ConverterException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -83,4 +93,495 @@ public class ArgumentParserTest {
             Assert.fail("Unexpected ArgumentException : " + e.getMessage());
         }
     }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, String[])} with {@link UnknownArgumentPolicy#REJECT}.
+     */
+    @Test
+    public void parseRejectUnknown() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argV = new Argument("v", "verbose");
+            storage.add(argV);
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.REJECT);
+
+            ArgumentParser.parse(storage, new String[]{"--verbsoe", "value", "-v", "on"});
+            Assert.assertEquals(1, storage.size());
+            Assert.assertEquals("on", argV.getValue());
+            Assert.assertTrue(storage.isUnknownDeclared());
+            Assert.assertEquals("Unknown parameter <verbsoe>. Did you mean <verbose>? ", storage.getMessage());
+
+            storage.clearValues();
+            Assert.assertFalse(storage.isUnknownDeclared());
+
+            Map<String, String> pairs = new HashMap<>();
+            pairs.put("x", "1");
+            ArgumentParser.parse(storage, pairs);
+            Assert.assertEquals(1, storage.size());
+            Assert.assertTrue(storage.isUnknownDeclared());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, String[])} with abbreviated long names.
+     */
+    @Test
+    public void parseAbbreviation() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argV = new Argument("v", "verbose");
+            Argument argB = new Argument("b", "verbatim");
+            Argument argO = new Argument("o", "output");
+            storage.add(argV);
+            storage.add(argB);
+            storage.add(argO);
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.REJECT);
+
+            ArgumentParser.parse(storage, new String[]{"--verbo", "1"});
+            Assert.assertFalse(argV.isDeclared());
+            Assert.assertTrue(storage.isUnknownDeclared());
+            storage.clearValues();
+
+            storage.setAbbreviationsAllowed(true);
+            ArgumentParser.parse(storage, new String[]{"--verbo", "1", "--out=2"});
+            Assert.assertEquals("1", argV.getValue());
+            Assert.assertEquals("2", argO.getValue());
+            Assert.assertFalse(storage.isUnknownDeclared());
+            storage.clearValues();
+
+            //Only names after -- are abbreviated
+            ArgumentParser.parse(storage, new String[]{"-outp", "3"});
+            Assert.assertFalse(argO.isDeclared());
+            Assert.assertTrue(storage.isUnknownDeclared());
+            storage.clearValues();
+
+            ArgumentParser.parse(storage, new String[]{"--verb", "1"});
+            Assert.assertFalse(argV.isDeclared());
+            Assert.assertFalse(argB.isDeclared());
+            Assert.assertTrue(storage.isUnknownDeclared());
+            Assert.assertEquals("Ambiguous parameter <verb>. It can be <verbatim>, <verbose>. ", storage.getMessage());
+            Assert.assertEquals(Arrays.asList("verbatim", "verbose"), storage.getAbbreviationCandidates("verb"));
+
+            storage.add(new Argument("vb", "verb"));
+            Assert.assertEquals("verb", storage.resolveAbbreviation("verb").getLongName());
+            Assert.assertNull(storage.resolveAbbreviation("verba2"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, String[])} with limited number of undefined names.
+     */
+    @Test
+    public void parseUnknownLimit() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argV = new Argument("v", "verbose");
+            storage.add(argV);
+            storage.setUnknownArgumentLimit(2);
+
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.IGNORE);
+            ArgumentParser.parse(storage, new String[]{"-x", "1", "-v", "on"});
+            Assert.assertEquals(1, storage.size());
+            Assert.assertEquals("on", argV.getValue());
+            Assert.assertFalse(storage.isUnknownDeclared());
+
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.COLLECT);
+            ArgumentParser.parse(storage, new String[]{"-x", "1", "-y", "2", "-x", "3", "-z", "4"});
+            Assert.assertEquals(1, storage.size());
+            Assert.assertEquals(2, storage.getUnknownArguments().size());
+            Assert.assertEquals("3", storage.getUnknownArguments().get(0).getValue());
+            Assert.assertEquals("2", storage.getUnknownArguments().get(1).getValue());
+            Assert.assertEquals(1, storage.getUnknownOverflow());
+            Assert.assertFalse(storage.isUnknownDeclared());
+            storage.clearValues();
+
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.REJECT);
+            String[] hostile = new String[10000];
+            for (int i = 0; i < hostile.length; i++) {
+                hostile[i] = "--flag" + i;
+            }
+            ArgumentParser.parse(storage, hostile);
+            Assert.assertEquals(1, storage.size());
+            Assert.assertEquals(2, storage.getUnknownNames().size());
+            Assert.assertEquals(9998, storage.getUnknownOverflow());
+            Assert.assertTrue(storage.isUnknownDeclared());
+            Assert.assertTrue(storage.getMessage().endsWith("And 9998 more unknown parameters. "));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, String[], boolean)}.
+     */
+    @Test
+    public void parseArgumentFiles() {
+        ArgumentStorage storage = new ArgumentStorage();
+        File file = null;
+        try {
+            Argument argA = new Argument("a", "first");
+            Argument argB = new Argument("b", "second");
+            Argument argC = new Argument("c", "third");
+            storage.add(argA);
+            storage.add(argB);
+            storage.add(argC);
+
+            file = File.createTempFile("args", ".txt");
+            Files.write(file.toPath(), "# paths\n--second 'file with spaces'\n-c \"x\\\"y\"\n".getBytes(StandardCharsets.UTF_8));
+            String argFile = "@" + file.getAbsolutePath();
+
+            ArgumentParser.parse(storage, new String[]{"-a", "@@mail", argFile}, true);
+            Assert.assertEquals("@mail", argA.getValue());
+            Assert.assertEquals("file with spaces", argB.getValue());
+            Assert.assertEquals("x\"y", argC.getValue());
+
+            //Without expansion the token is a value
+            storage.clearValues();
+            ArgumentParser.parse(storage, new String[]{"-a", argFile}, false);
+            Assert.assertEquals(argFile, argA.getValue());
+            Assert.assertFalse(argB.isDeclared());
+
+            //Elements after the terminator are not expanded
+            storage.clearValues();
+            ArgumentParser.parse(storage, new String[]{"-a", "1", "--", argFile, "@@x", "@missing-file.txt"}, true);
+            Assert.assertEquals("1", argA.getValue());
+            Assert.assertFalse(argB.isDeclared());
+            Assert.assertEquals(Arrays.asList(argFile, "@@x", "@missing-file.txt"), storage.getPositionals());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, Iterator, java.util.function.Consumer)}.
+     */
+    @Test
+    public void parseIterator() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argA = new Argument("a", "first");
+            Argument argB = new Argument("b", "second");
+            storage.add(argA);
+            storage.add(argB);
+
+            List<String> completed = new ArrayList<>();
+            Iterator<StringBuilder> tokens = Arrays.asList(new StringBuilder("-a"), new StringBuilder("1"),
+                    new StringBuilder("--second"), new StringBuilder("2")).iterator();
+            ArgumentParser.parse(storage, tokens, arg -> completed.add(arg.getShortName() + "=" + arg.getValue()));
+            Assert.assertEquals(Arrays.asList("a=1", "b=2"), completed);
+
+            //Parsing stops as soon as a complete argument is invalid, the rest of the input is not read
+            storage.clearValues();
+            Iterator<String> rest = Arrays.asList("-a", "bad", "-b", "2").iterator();
+            try {
+                ArgumentParser.parse(storage, rest, arg -> {
+                    if (arg.getValue().equals("bad")) {
+                        throw new IllegalArgumentException(arg.getName());
+                    }
+                });
+                Assert.fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                Assert.assertEquals("<a(first)>", e.getMessage());
+            }
+            Assert.assertTrue(rest.hasNext());
+            Assert.assertEquals("-b", rest.next());
+
+            //A single value completes the argument at once; multi-valued arguments and flags are completed
+            //by the next name or the end of the input
+            storage.clearValues();
+            storage.add(new Argument("m", "many").setMultiValued(true));
+            storage.add(new Argument("f", "flag"));
+            completed.clear();
+            Iterator<String> mixed = Arrays.asList("-a", "1", "-m", "x", "y", "-f", "-b", "2").iterator();
+            ArgumentParser.parse(storage, new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return mixed.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    String token = mixed.next();
+                    completed.add(token);
+                    return token;
+                }
+            }, arg -> completed.add("<" + arg.getShortName() + ">"));
+            Assert.assertEquals(Arrays.asList("-a", "1", "<a>", "-m", "x", "y", "-f", "<m>", "-b", "<f>", "2", "<b>"),
+                    completed);
+
+            //Tokens are copied, so the iterator can reuse one buffer
+            storage.clearValues();
+            StringBuilder buffer = new StringBuilder();
+            Iterator<String> source = Arrays.asList("-a", "input.txt", "-b", "out.txt").iterator();
+            ArgumentParser.parse(storage, new Iterator<CharSequence>() {
+                @Override
+                public boolean hasNext() {
+                    return source.hasNext();
+                }
+
+                @Override
+                public CharSequence next() {
+                    buffer.setLength(0);
+                    return buffer.append(source.next());
+                }
+            }, null);
+            Assert.assertEquals("input.txt", storage.getValue("a"));
+            Assert.assertEquals("out.txt", storage.getValue("b"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, ByteBuffer, byte)}.
+     */
+    @Test
+    public void parseBytes() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argA = new Argument("a", "first");
+            Argument argB = new Argument("b", "second-name");
+            Argument argC = new Argument("c", "third");
+            storage.add(argA);
+            storage.add(argB);
+            storage.add(argC);
+
+            byte[] bytes = "-a\0значение\0--second-name\0\0-c\0-1\0--new\0x\0".getBytes(StandardCharsets.UTF_8);
+            ArgumentParser.parse(storage, bytes);
+            Assert.assertEquals("значение", argA.getValue());
+            Assert.assertTrue(argB.isDeclared());
+            Assert.assertFalse(argB.isFilled());
+            Assert.assertEquals("-1", argC.getValue());
+            Assert.assertEquals("x", storage.getValue("new"));
+
+            //Values are slices of the buffer, decoded when read
+            storage.clearValues();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+            buffer.put("junk\n-a\nlazy\n--third\n--a1_b".getBytes(StandardCharsets.UTF_8)).flip();
+            buffer.position(5);
+            ArgumentParser.parse(storage, buffer, (byte) '\n');
+            Assert.assertEquals(5, buffer.position());
+            Assert.assertTrue(argA.isFilled());
+            Assert.assertEquals("lazy", argA.getValue());
+            Assert.assertTrue(argC.isDeclared());
+            Assert.assertTrue(storage.isDeclared("a1_b"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parse(ArgumentStorage, CharSequence)}.
+     */
+    @Test
+    public void parseCommandLine() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            Argument argA = new Argument("a", "first");
+            Argument argB = new Argument("b", "second");
+            storage.add(argA);
+            storage.add(argB);
+
+            ArgumentParser.parse(storage, "-a 'two words' --second plain");
+            Assert.assertEquals("two words", argA.getValue());
+            Assert.assertEquals("plain", argB.getValue());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+        try {
+            ArgumentParser.parse(storage, "-a 'unclosed");
+            Assert.fail("Expected ArgumentException");
+        } catch (ArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Test {@code --name=value} and bundled names syntax.
+     */
+    @Test
+    public void parseInlineValuesAndBundles() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argX = new Argument("x", "extract");
+            Argument argV = new Argument("v", "verbose");
+            Argument argF = new Argument("f", "file");
+            Argument argXv = new Argument("xv", null);
+            storage.add(argX);
+            storage.add(argV);
+            storage.add(argF);
+            storage.add(argXv);
+
+            ArgumentParser.parse(storage, new String[]{"--extract=a=b", "-vf", "archive.tar"});
+            Assert.assertEquals("a=b", argX.getValue());
+            Assert.assertTrue(argV.isDeclared());
+            Assert.assertFalse(argV.isFilled());
+            Assert.assertEquals("archive.tar", argF.getValue());
+
+            //Defined name is not expanded; --name is never a bundle; unknown character stops expansion
+            storage.clearValues();
+            ArgumentParser.parse(storage, new String[]{"-xv", "1", "--vf", "-f=", "-1=2"});
+            Assert.assertEquals("1", argXv.getValue());
+            Assert.assertFalse(argX.isDeclared());
+            Assert.assertTrue(storage.isDeclared("vf"));
+            Assert.assertTrue(argF.isDeclared());
+            Assert.assertEquals("-1=2", argF.getValue());
+
+            //The same syntax in other front ends
+            storage.clearValues();
+            ArgumentParser.parse(storage, "--file='my file' -xf");
+            Assert.assertTrue(argX.isDeclared());
+            Assert.assertFalse(argXv.isDeclared());
+            Assert.assertEquals("my file", argF.getValue());
+
+            storage.clearValues();
+            ArgumentParser.parse(storage, "--file=a.txt\0-vx\0".getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals("a.txt", argF.getValue());
+            Assert.assertTrue(argV.isDeclared());
+            Assert.assertTrue(argX.isDeclared());
+
+            //Argument created while parsing can be bundled later in the same command line
+            storage.clearValues();
+            ArgumentParser.parse(storage, new String[]{"-vx", "-q", "1", "-fq", "2"});
+            Assert.assertTrue(argV.isDeclared());
+            Assert.assertTrue(argF.isDeclared());
+            Assert.assertEquals("2", storage.getValue("q"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test positional values and the terminator {@code --}.
+     */
+    @Test
+    public void parsePositionals() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argV = new Argument("v", "verbose");
+            Argument argOut = new Argument("o", "output");
+            Argument argSource = new Argument("s", "source");
+            storage.add(argV);
+            storage.add(argOut);
+
+            //Without positional definitions only the values after the terminator are positional
+            ArgumentParser.parse(storage, new String[]{"-o", "first", "second", "--", "-v", "x"});
+            Assert.assertEquals("second", argOut.getValue());
+            Assert.assertFalse(argV.isDeclared());
+            Assert.assertEquals(Arrays.asList("-v", "x"), storage.getPositionals());
+
+            //With positional definitions values that do not follow a name are positional
+            storage.clearValues();
+            storage.addPositional(argSource);
+            Assert.assertTrue(storage.getPositionals().isEmpty());
+            ArgumentParser.parse(storage, new String[]{"src", "-o", "out", "a.txt", "-v", "--", "--output"});
+            Assert.assertEquals("src", argSource.getValue());
+            Assert.assertEquals("out", argOut.getValue());
+            Assert.assertTrue(argV.isDeclared());
+            Assert.assertFalse(argV.isFilled());
+            Assert.assertEquals(Arrays.asList("a.txt", "--output"), storage.getPositionals());
+
+            //Positional values are streamed to the receiver and not saved
+            storage.clearValues();
+            int[] count = new int[1];
+            storage.setPositionalConsumer(value -> count[0]++);
+            StringBuilder bytes = new StringBuilder("-v\0on\0--\0src\0");
+            for (int i = 0; i < 50000; i++) {
+                bytes.append("file").append(i).append("\0");
+            }
+            ArgumentParser.parse(storage, bytes.toString().getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals("on", argV.getValue());
+            Assert.assertEquals("src", argSource.getValue());
+            Assert.assertEquals(50000, count[0]);
+            Assert.assertTrue(storage.getPositionals().isEmpty());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test parsing of multi-valued arguments.
+     */
+    @Test
+    public void parseMultiValued() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argInclude = new Argument("I", "include").setMultiValued(true);
+            Argument argOut = new Argument("o", "output");
+            Argument argFiles = new Argument("f", "files").setMultiValued(true);
+            storage.add(argInclude);
+            storage.add(argOut);
+
+            ArgumentParser.parse(storage, new String[]{"-I", "a", "-o", "x", "-I", "b,c", "--include=d", "-o", "y"});
+            Assert.assertArrayEquals(new String[]{"a", "b,c", "d"}, argInclude.getValues());
+            Assert.assertEquals(3, argInclude.getValueCount());
+            Assert.assertEquals("d", argInclude.getValue());
+            Assert.assertArrayEquals(new String[]{"y"}, argOut.getValues());
+
+            storage.clearValues();
+            Assert.assertEquals(0, argInclude.getValueCount());
+            ArgumentParser.parse(storage, String.join("\0", "-I", "1", "-I", "2", "-I", "3").getBytes(StandardCharsets.UTF_8));
+            Assert.assertArrayEquals(new int[]{1, 2, 3}, argInclude.getValueConverter().toArrayInt());
+
+            //The last multi-valued positional argument receives the remaining positional values
+            storage.clearValues();
+            storage.addPositional(argFiles);
+            ArgumentParser.parse(storage, new String[]{"a.txt", "-o", "out", "b.txt", "c.txt"});
+            Assert.assertArrayEquals(new String[]{"a.txt", "b.txt", "c.txt"}, argFiles.getValues());
+            Assert.assertTrue(storage.getPositionals().isEmpty());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } catch (ConverterException e) {
+            Assert.fail("Unexpected ConverterException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentParser#parseEnvironment(ArgumentStorage, Map)}.
+     */
+    @Test
+    public void parseEnvironment() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argHome = new Argument("d", "dir").setEnvironmentVariable("APP_HOME");
+            Argument argOut = new Argument("o", "output");
+            storage.add(argHome);
+            storage.add(argOut);
+
+            Map<String, String> variables = new HashMap<>();
+            variables.put("APP_HOME", "/opt/app");
+            variables.put("OUTPUT", "out.txt");
+            ArgumentParser.parseEnvironment(storage, variables);
+            Assert.assertEquals("/opt/app", argHome.getValue());
+            Assert.assertEquals(ValueSource.ENVIRONMENT, argHome.getValueSource());
+            //Only bound variables are read
+            Assert.assertFalse(argOut.isDeclared());
+
+            //Command line overrides the environment
+            ArgumentParser.parse(storage, new String[]{"--dir", "/tmp"});
+            Assert.assertEquals("/tmp", argHome.getValue());
+            Assert.assertEquals(ValueSource.COMMAND_LINE, argHome.getValueSource());
+
+            //The bound name replaces the built name in layered sources
+            storage.clearValues();
+            argHome.setEnvironmentVariable(null);
+            variables.put("DIR", "/home");
+            ArgumentParser.parseEnvironment(storage, variables);
+            Assert.assertFalse(argHome.isDeclared());
+            new ValueLayers().setEnvironment(variables).resolve(storage);
+            Assert.assertEquals("/home", argHome.getValue());
+            Assert.assertEquals("out.txt", argOut.getValue());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package com.github.onlycrab.argParser.arguments;
+
+import com.github.onlycrab.argParser.arguments.dependencies.ReturnedBoolean;
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test {@link ArgumentStoragePool}.
+ *
+ * @author Roman Rynkovich
+ */
+public class ArgumentStoragePoolTest {
+    /**
+     * Create storage with one argument.
+     *
+     * @return new storage
+     */
+    private static ArgumentStorage create() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            storage.add(new Argument("v", "verbose"));
+            storage.add(new Argument("o", "output").setRequiredBeFilled(true));
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.REJECT);
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+        return storage;
+    }
+
+    /**
+     * Test {@link ArgumentStoragePool#acquire()} and {@link ArgumentStoragePool#release(ArgumentStorage)}.
+     */
+    @Test
+    public void acquireRelease() {
+        ArgumentStoragePool pool = new ArgumentStoragePool(ArgumentStoragePoolTest::create, 1);
+        ArgumentStorage first = pool.acquire();
+        ArgumentStorage second = pool.acquire();
+        Assert.assertNotSame(first, second);
+
+        ArgumentParser.parse(first, new String[]{"-v", "on"});
+        Assert.assertTrue(first.isDeclared("v"));
+        pool.release(first);
+        pool.release(second);
+        Assert.assertEquals(1, pool.getIdleCount());
+
+        ArgumentStorage reused = pool.acquire();
+        Assert.assertSame(first, reused);
+        Assert.assertFalse(reused.isDeclared("v"));
+        Assert.assertFalse(reused.isFilled("v"));
+        Assert.assertEquals(0, pool.getIdleCount());
+    }
+
+    /**
+     * Test {@link ArgumentStoragePool#parseAll(List)}.
+     */
+    @Test
+    public void parseAll() {
+        ArgumentStoragePool pool = new ArgumentStoragePool(ArgumentStoragePoolTest::create, 4);
+        List<String[]> commandLines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (i % 3 == 0) {
+                commandLines.add(new String[]{"-v", "--ouput", "file" + i});
+            } else {
+                commandLines.add(new String[]{"-o", "file" + i});
+            }
+        }
+
+        List<ReturnedBoolean> results = pool.parseAll(commandLines);
+        Assert.assertEquals(2000, results.size());
+        for (int i = 0; i < 2000; i++) {
+            Assert.assertEquals(i % 3 != 0, results.get(i).getResult());
+        }
+        Assert.assertTrue(results.get(0).getMessage().contains("Did you mean <output>?"));
+
+        List<String> values = pool.parseAll(commandLines, storage -> storage.getValue("o"), new ForkJoinPool(2));
+        Assert.assertEquals("", values.get(0));
+        Assert.assertEquals("file1999", values.get(1999));
+        Assert.assertTrue(pool.getIdleCount() <= 4);
+        Assert.assertTrue(pool.parseAll(new ArrayList<>()).isEmpty());
+    }
+
+    /**
+     * Test that arguments created for undefined names do not outlive the command line.
+     */
+    @Test
+    public void parseAllCreated() {
+        ArgumentStoragePool pool = new ArgumentStoragePool(() -> {
+            ArgumentStorage storage = create();
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.CREATE);
+            return storage;
+        }, 1);
+        List<String[]> commandLines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            commandLines.add(new String[]{"-o", "file", "--extra" + (i % 7), "x"});
+        }
+        List<Integer> sizes = pool.parseAll(commandLines, ArgumentStorage::size, new ForkJoinPool(2));
+        for (Integer size : sizes) {
+            Assert.assertEquals(3, size.intValue());
+        }
+
+        ArgumentStorage storage = pool.acquire();
+        ArgumentParser.parse(storage, new String[]{"--created", "1"});
+        Assert.assertEquals(3, storage.size());
+        Assert.assertEquals("1", storage.getValue("created"));
+        pool.release(storage);
+        storage = pool.acquire();
+        Assert.assertEquals(2, storage.size());
+        Assert.assertFalse(storage.isDefined("created"));
+        Assert.assertNull(storage.findArgument("extra1"));
+    }
+}
@@ -3,12 +3,22 @@ package com.github.onlycrab.argParser.arguments;
 import com.github.onlycrab.argParser.arguments.dependencies.Rule;
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentNotFoundException;
+import com.github.onlycrab.argParser.arguments.help.HelpLayout;
+import com.github.onlycrab.argParser.arguments.index.SymbolTable;
 import org.junit.Assert;
 import org.junit.Test;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Test {@link ArgumentStorage}.
@@ -104,7 +114,7 @@ public class ArgumentStorageTest {
             storageExpected.add(new Argument("at1", "argument-test1").setRequiredBeFilled(true));
             storageExpected.add(new Argument("at2", "argument-test2"));
             storageExpected.add(new Argument("at3", "argument-test3").setRequiredBeDeclared(true));
-            storageExpected.add(new Argument("at4", "argument-test4"));
+            storageExpected.add(new Argument("at4", "argument-test4").setMultiValued(true).setEnvironmentVariable("ARGUMENT_TEST4"));
             storageExpected.addDependence("at1", "at2");
             storageExpected.addDependence("at4", "at2");
             storageExpected.addConflict("at3", "at4");
@@ -175,6 +185,29 @@ public class ArgumentStorageTest {
         }
     }
 
+    /**
+     * Test the {@code isMultiValued} attribute read by {@link ArgumentStorage#read(InputStream, String)}.
+     */
+    @Test
+    public void readMultiValued() {
+        String data = "/test/ArgumentTestXmlMultiValued.xml";
+        try {
+            ArgumentStorage storage = new ArgumentStorage();
+            storage.read(ArgumentStorageTest.class.getResourceAsStream(data), null);
+            Assert.assertTrue(storage.getArgument("I").isMultiValued());
+            Assert.assertFalse(storage.getArgument("o").isMultiValued());
+            Assert.assertFalse(storage.getArgument("v").isMultiValued());
+
+            ArgumentParser.parse(storage, new String[]{"-I", "a", "--include", "b", "-o", "x", "-o", "y"});
+            Assert.assertArrayEquals(new String[]{"a", "b"}, storage.getArgument("include").getValues());
+            Assert.assertEquals("y", storage.getValue("output"));
+        } catch (IOException | XMLStreamException e) {
+            Assert.fail("Cant create arguments from XML <" + data + "> : " + e.getMessage());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
     /**
      * Test {@link ArgumentStorage#isDeclared(String)}.
      */
@@ -324,6 +357,28 @@ public class ArgumentStorageTest {
         }
     }
 
+    /**
+     * Test {@link ArgumentStorage#isConsistent()}.
+     */
+    @Test
+    public void isConsistent() {
+        ArgumentStorage storage = new ArgumentStorage();
+        try {
+            storage.add(new Argument("a1", "arg1").setRequiredBeDeclared(true));
+            storage.add(new Argument("a2", "arg2"));
+            storage.add(new Argument("a3", "arg3").setRequiredBeDeclared(true));
+            storage.addDependence("a1", "a2");
+            Assert.assertTrue(storage.isConsistent());
+            Assert.assertEquals("", storage.getMessage());
+
+            storage.addConflict("a2", "a3");
+            Assert.assertFalse(storage.isConsistent());
+            Assert.assertNotEquals("", storage.getMessage());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
     /**
      * Test {@link ArgumentStorage#isRulesSatisfied()}.
      */
@@ -368,6 +423,40 @@ public class ArgumentStorageTest {
         }
     }
 
+    /**
+     * Test {@link ArgumentStorage#isRulesSatisfied(java.util.concurrent.Executor)}.
+     */
+    @Test
+    public void isRulesSatisfiedParallel() {
+        ArgumentStorage storage = new ArgumentStorage();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ArgumentT arg1 = new ArgumentT("a1", "arg1");
+            storage.addRule(new LengthRule(2, "first.").addTarget(arg1).setCostly(true));
+            storage.addRule(new LengthRule(3, "second.").addTarget(arg1));
+            storage.addRule(new LengthRule(4, "third.").addTarget(arg1).setCostly(true));
+            storage.addRule(new LengthRule(5, "fourth.").addTarget(arg1).setIsolated(true));
+
+            arg1.setValue("1");
+            Assert.assertFalse(storage.isRulesSatisfied(executor));
+            Assert.assertEquals("first. second. third. fourth. ", storage.getMessage());
+            Assert.assertFalse(storage.isRulesSatisfied());
+            Assert.assertEquals("first. second. third. fourth. ", storage.getMessage());
+
+            arg1.setValue("123");
+            Assert.assertFalse(storage.isRulesSatisfied(null));
+            Assert.assertEquals("third. fourth. ", storage.getMessage());
+
+            arg1.setValue("12345");
+            Assert.assertTrue(storage.isRulesSatisfied(executor));
+            Assert.assertEquals("", storage.getMessage());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * Test {@link ArgumentStorage#getHelp(String)}, {@link ArgumentStorage#getHelp()}.
      */
@@ -465,6 +554,308 @@ public class ArgumentStorageTest {
         }
     }
 
+    /**
+     * Test that {@link ArgumentStorage#getHelp()} and {@link ArgumentStorage#getHelp(String)} are rendered once
+     * and rendered again after changes.
+     */
+    @Test
+    public void getHelpCache() {
+        try {
+            ArgumentStorage storage = new ArgumentStorage(true);
+            Argument arg = new Argument("a", "arg", null, false, false, "param", "desc", "descDetail");
+            storage.add(arg);
+
+            String help = storage.getHelp();
+            String details = storage.getHelp("a");
+            Assert.assertTrue(help == storage.getHelp());
+            Assert.assertTrue(details == storage.getHelp("arg"));
+
+            //Argument metadata change
+            arg.setDescription("new desc");
+            Assert.assertNotEquals(help, storage.getHelp());
+            Assert.assertTrue(storage.getHelp().contains("new desc"));
+            arg.setDescriptionDetailed("new details");
+            Assert.assertEquals("Short name : a\n" +
+                    "Full name : arg\n" +
+                    "Required : No\n" +
+                    "Parameter : param\n" +
+                    "Description : new details", storage.getHelp("a"));
+
+            //Project info change
+            help = storage.getHelp();
+            storage.setUsage("us");
+            Assert.assertEquals("Usage : \nus\n\n" + help, storage.getHelp());
+
+            //New argument
+            help = storage.getHelp();
+            storage.add(new Argument("b", null));
+            Assert.assertEquals(help + "  -b," + "                " + "\n", storage.getHelp());
+
+            //Metadata change of a copied argument affects only the copy
+            help = storage.getHelp();
+            ArgumentStorage copy = storage.copy();
+            Assert.assertEquals(help, copy.getHelp());
+            copy.getArgument("b").setDescription("copied");
+            Assert.assertTrue(copy.getHelp().contains("copied"));
+            Assert.assertTrue(help == storage.getHelp());
+
+            //Metadata change of an absorbed argument does not affect the storage
+            Argument absorbed = new Argument("b", null, null, false, false, "", "absorbed", null);
+            storage.add(absorbed);
+            help = storage.getHelp();
+            Assert.assertTrue(help.contains("absorbed"));
+            absorbed.setDescription("changed");
+            Assert.assertTrue(help == storage.getHelp());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that names of undefined arguments are not interned in the {@link SymbolTable}.
+     */
+    @Test
+    public void unknownNotInterned() {
+        try {
+            ArgumentStorage storage = new ArgumentStorage();
+            storage.add(new Argument("v", "verbose"));
+            int symbols = SymbolTable.size();
+
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.COLLECT);
+            for (int i = 0; i < 100; i++) {
+                ArgumentParser.parse(storage, new String[]{"--collected" + i, "1"});
+                storage.clearValues();
+            }
+            storage.setUnknownArgumentPolicy(UnknownArgumentPolicy.CREATE);
+            for (int i = 0; i < 100; i++) {
+                ArgumentParser.parse(storage, new String[]{"--created" + i, "1"});
+            }
+            Map<String, String> pairs = new HashMap<>();
+            pairs.put("created-pair", "2");
+            ArgumentParser.parse(storage, pairs);
+            Assert.assertEquals(symbols, SymbolTable.size());
+
+            //Created arguments are found by name and absorbed by defined arguments with the same name
+            Assert.assertEquals(102, storage.size());
+            Assert.assertEquals("1", storage.getValue("created7"));
+            Assert.assertEquals("2", storage.getValue("created-pair"));
+            //The name is interned when another specification defines it
+            new Argument("created7", null);
+            Assert.assertEquals("1", storage.getValue("created7"));
+            storage.add(new Argument("c7", "created7").setDescription("defined"));
+            Assert.assertEquals(102, storage.size());
+            Assert.assertEquals("defined", storage.getArgument("c7").getDescription());
+            Assert.assertSame(storage.getArgument("c7"), storage.getArgument("created7"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Argument that counts reads of its names and metadata.
+     */
+    private static class CountingArgument extends Argument {
+        private int reads;
+
+        CountingArgument(String shortName, String longName) throws ArgumentException {
+            super(shortName, longName);
+        }
+
+        @Override
+        public String getShortName() {
+            reads++;
+            return super.getShortName();
+        }
+
+        @Override
+        public String getLongName() {
+            reads++;
+            return super.getLongName();
+        }
+
+        @Override
+        public ArgumentDescriptor getDescriptor() {
+            reads++;
+            return super.getDescriptor();
+        }
+    }
+
+    /**
+     * Test that {@link ArgumentStorage#resolveAbbreviation(String)} does not visit the arguments
+     * while the long names index is valid.
+     */
+    @Test
+    public void resolveAbbreviationCache() {
+        try {
+            ArgumentStorage storage = new ArgumentStorage();
+            List<CountingArgument> arguments = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                arguments.add(new CountingArgument("a" + i, "argument-" + i));
+            }
+            storage.addAll(arguments);
+            Assert.assertEquals("argument-42", storage.resolveAbbreviation("argument-42").getLongName());
+
+            for (CountingArgument arg : arguments) {
+                arg.reads = 0;
+            }
+            Assert.assertSame(arguments.get(7), storage.resolveAbbreviation("argument-7"));
+            Assert.assertNull(storage.resolveAbbreviation("argument-"));
+            Assert.assertEquals(11, storage.getAbbreviationCandidates("argument-1").size());
+            for (CountingArgument arg : arguments) {
+                Assert.assertEquals(0, arg.reads);
+            }
+
+            //Metadata change rebuilds the index
+            arguments.get(7).setDescription("changed");
+            storage.resolveAbbreviation("argument-7");
+            Assert.assertTrue(arguments.get(7).reads > 0);
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#writeHelp(Appendable, HelpLayout)}.
+     */
+    @Test
+    public void writeHelp() {
+        String indent = "                ";
+        try {
+            ArgumentStorage storage = new ArgumentStorage(false);
+            storage.setDescription("des");
+            storage.add(new Argument("a", "arg", null, false, false, null,
+                    "one two three four five six seven eight nine ten eleven", null));
+            storage.add(new Argument("b", "bar", null, false, false, null, "bar", null));
+            storage.add(new Argument("c", "baz", null, false, false, null, "baz", null));
+
+            //Same as getHelp()
+            StringBuilder out = new StringBuilder();
+            storage.writeHelp(out, null);
+            Assert.assertEquals(storage.getHelp(), out.toString());
+
+            //Wrapping
+            out = new StringBuilder();
+            storage.writeHelp(out, new HelpLayout().setWidth(36).setPrefix("ar").setInfoIncluded(false));
+            Assert.assertEquals("Parameters : \n" +
+                    "  -a, --arg     one two three four\n" +
+                    indent + "five six seven eight\n" +
+                    indent + "nine ten eleven\n", out.toString());
+
+            //Filter and paging
+            out = new StringBuilder();
+            storage.writeHelp(out, new HelpLayout().setPrefix("ba").setPage(1, 5));
+            Assert.assertEquals("Parameters : \n" +
+                    "  -c, --baz     baz\n", out.toString());
+            out = new StringBuilder();
+            storage.writeHelp(out, new HelpLayout().setPage(0, 1));
+            Assert.assertTrue(out.toString().startsWith("des\n\n"));
+            Assert.assertFalse(out.toString().contains("bar"));
+            out = new StringBuilder();
+            storage.writeHelp(out, new HelpLayout().setPrefix("x"));
+            Assert.assertEquals("des\n\n", out.toString());
+        } catch (ArgumentException | IOException e) {
+            Assert.fail("Unexpected exception : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#searchHelp(String)}.
+     */
+    @Test
+    public void searchHelp() {
+        try {
+            ArgumentStorage storage = new ArgumentStorage(true);
+            Argument argVerbose = new Argument("v", "verbose", null, false, false, null, "Print more output.", null);
+            Argument argQuiet = new Argument("q", "quiet", null, false, false, null, "Print no output.",
+                    "Do not print anything, opposite to verbose.");
+            Argument argOut = new Argument("o", "output-file", null, false, false, "FILE", "Write output to file.", null);
+            storage.add(argVerbose).add(argQuiet).add(argOut);
+
+            Assert.assertEquals(Arrays.asList(argVerbose, argQuiet), storage.searchHelp("verbose"));
+            Assert.assertEquals(Arrays.asList(argOut, argVerbose, argQuiet), storage.searchHelp("output"));
+            Assert.assertEquals(Arrays.asList(argQuiet, argVerbose), storage.searchHelp("PRINT out"));
+            Assert.assertEquals(Arrays.asList(argOut), storage.searchHelp("file out"));
+            Assert.assertTrue(storage.searchHelp("missing").isEmpty());
+            Assert.assertTrue(storage.searchHelp(" ").isEmpty());
+
+            //Index is rebuilt after changes
+            argOut.setDescription("Write result to file.");
+            Assert.assertEquals(Arrays.asList(argOut), storage.searchHelp("result"));
+
+            //System help falls back to search
+            ArgumentParser.parse(storage, new String[]{"-h", "verb"});
+            String help = storage.getSystemHelp(null);
+            Assert.assertTrue(help.contains("--verbose"));
+            Assert.assertTrue(help.contains("--quiet"));
+            Assert.assertFalse(help.contains("--output-file"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#clearValues()}.
+     */
+    @Test
+    public void clearValues() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argA = new Argument("a", "first");
+            Argument argB = new Argument("b", "second").setValueDefault("def");
+            //Argument declared before it was added keeps its state
+            argA.setValue("before");
+            storage.add(argA);
+            storage.add(argB);
+            Assert.assertEquals("before", argA.getValue());
+
+            for (int i = 0; i < 3; i++) {
+                ArgumentParser.parse(storage, new String[]{"-a", "value" + i, "-b"});
+                storage.setArgumentValuesToDefaultIfEmpty();
+                Assert.assertEquals("value" + i, argA.getValue());
+                Assert.assertTrue(argB.isDeclared());
+                Assert.assertEquals("def", argB.getValue());
+
+                storage.clearValues();
+                Assert.assertFalse(argA.isDeclared());
+                Assert.assertFalse(argA.isFilled());
+                Assert.assertEquals("", argA.getValue());
+                Assert.assertFalse(argB.isDeclared());
+            }
+
+            //Stale value is not restored by declaration
+            ArgumentParser.parse(storage, new String[]{"-a"});
+            Assert.assertTrue(argA.isDeclared());
+            Assert.assertFalse(argA.isFilled());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#suggest(String)}.
+     */
+    @Test
+    public void suggest() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            storage.add(new Argument("v", "verbose"));
+            storage.add(new Argument("o", "output"));
+            storage.add(new Argument("i", "input"));
+
+            Assert.assertEquals(Collections.singletonList("verbose"), storage.suggest("verbsoe"));
+            Assert.assertEquals(Collections.singletonList("output"), storage.suggest("outptu"));
+            Assert.assertTrue(storage.suggest("completely").isEmpty());
+            //Single character names are within distance 1 of each other
+            Assert.assertEquals(Arrays.asList("i", "o", "v"), storage.suggest("x"));
+
+            //Index is rebuilt after the arguments list is changed
+            storage.add(new Argument("vb", "verbosity"));
+            Assert.assertEquals(Arrays.asList("verbosity", "verbose"), storage.suggest("verbosit"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
     /**
      * Test {@link ArgumentStorage#getSystemHelp(String)}.
      */
@@ -549,11 +940,79 @@ public class ArgumentStorageTest {
             args1.add(arg2);
             args2.add(arg1);
             Assert.assertEquals(args1, args2);
+            Assert.assertEquals(args1.getFingerprint(), args2.getFingerprint());
+
+            args1.addConflict("arg1", "arg2");
+            Assert.assertNotEquals(args1, args2);
+            Assert.assertNotEquals(args1.getFingerprint(), args2.getFingerprint());
+            args2.addConflict("arg2", "arg1");
+            Assert.assertEquals(args1, args2);
+            Assert.assertEquals(args1.getFingerprint(), args2.getFingerprint());
+
+            args1.addDependence("arg1", "arg2");
+            Assert.assertNotEquals(args1.getFingerprint(), args2.getFingerprint());
+            args2.addDependence("arg1", "arg2");
+            Assert.assertEquals(args1, args2);
+            Assert.assertEquals(args1.getFingerprint(), args2.getFingerprint());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#addAll(java.util.Collection)}.
+     */
+    @Test
+    public void addAll() {
+        ArgumentStorage storage = new ArgumentStorage(), expected = new ArgumentStorage();
+        try {
+            List<Argument> arguments = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Argument arg = new Argument("a" + i, "argument" + i, null, false, false, "VALUE" + i, "description " + i, null);
+                arguments.add(arg);
+                expected.add(arg);
+            }
+            arguments.add(new Argument("a0", "alpha"));
+            expected.add(new Argument("a0", "alpha"));
+            storage.addAll(arguments);
+
+            Assert.assertEquals(100, storage.size());
+            Assert.assertEquals(expected.getHelp(), storage.getHelp());
+            Assert.assertEquals("alpha", storage.getArgument("a0").getLongName());
+
+            ArgumentParser.parse(storage, new String[]{"-a7", "x", "--alpha", "y"});
+            Assert.assertEquals("x", storage.getValue("argument7"));
+            Assert.assertEquals("y", storage.getValue("a0"));
         } catch (ArgumentException e) {
             Assert.fail("Unexpected ArgumentException : " + e.getMessage());
         }
     }
 
+    /**
+     * Rule that checks the minimum length of the targets values.
+     */
+    private static class LengthRule extends Rule {
+        private final int length;
+        private final String message;
+
+        LengthRule(int length, String message) {
+            this.length = length;
+            this.message = message;
+        }
+
+        @Override
+        public boolean isSatisfied() {
+            clearMessages();
+            for (Argument target : targets) {
+                if (target.getValue().length() < length) {
+                    addMessage(message);
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * This class was created to be able to use methods directly during testing.
      */
@@ -573,4 +1032,59 @@ public class ArgumentStorageTest {
             super.setValue(value);
         }
     }
+
+    /**
+     * Test {@link ArgumentStorage#findArgument(String)} and {@link ArgumentStorage#ordinalOf(String)}.
+     */
+    @Test
+    public void findArgument() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argV = new Argument("v", "verbose");
+            storage.add(new Argument("o", "output"));
+            storage.add(argV);
+            Assert.assertSame(argV, storage.findArgument("verbose"));
+            Assert.assertNull(storage.findArgument("x"));
+            Assert.assertNull(storage.findArgument(null));
+            Assert.assertEquals(1, storage.ordinalOf("v"));
+            Assert.assertEquals(0, storage.ordinalOf("output"));
+            Assert.assertEquals(-1, storage.ordinalOf("x"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ArgumentStorage#copy()}.
+     */
+    @Test
+    public void copy() {
+        ArgumentStorage storage = new ArgumentStorage(true);
+        try {
+            storage.setDescription("some description");
+            storage.add(new Argument("a", "alpha").setDescription("first"));
+            storage.add(new Argument("b", "beta"));
+            storage.addPositional(new Argument("s", "source"));
+            storage.addDependence("a", "b");
+            storage.addConflict("b", "s");
+            ArgumentParser.parse(storage, new String[]{"-a", "x"});
+
+            ArgumentStorage copy = storage.copy();
+            Assert.assertNotSame(storage.getArgument("a"), copy.getArgument("a"));
+            Assert.assertSame(storage.getArgument("a").getDescriptor(), copy.getArgument("a").getDescriptor());
+            Assert.assertFalse(copy.isDeclared("a"));
+            Assert.assertEquals(storage.getHelp(), copy.getHelp());
+
+            ArgumentParser.parse(copy, new String[]{"-a", "y", "src"});
+            Assert.assertEquals("x", storage.getValue("a"));
+            Assert.assertEquals("y", copy.getValue("a"));
+            Assert.assertEquals("src", copy.getValue("s"));
+            Assert.assertFalse(copy.isRequireFilled());
+            ArgumentParser.parse(copy, new String[]{"-b", "z"});
+            Assert.assertTrue(copy.isConflict());
+            Assert.assertFalse(storage.isConflict());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
 }
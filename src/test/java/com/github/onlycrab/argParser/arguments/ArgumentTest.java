@@ -1,6 +1,7 @@
 package com.github.onlycrab.argParser.arguments;
 
 import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import com.github.onlycrab.argParser.arguments.index.SymbolTable;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -218,4 +219,48 @@ public class ArgumentTest {
             super.setValue(value);
         }
     }
+
+    /**
+     * Test {@link Argument#getDescriptor()} and {@link Argument#Argument(ArgumentDescriptor)}.
+     */
+    @Test
+    public void descriptor() {
+        try {
+            Argument first = new Argument("a", "arg", "def", false, true, "<value>", "description", "details");
+            Argument second = new Argument(first.getDescriptor());
+            Assert.assertSame(first.getDescriptor(), second.getDescriptor());
+            Assert.assertEquals(first, second);
+
+            //Metadata is copied on write
+            second.setDescription("changed");
+            Assert.assertEquals("description", first.getDescription());
+            Assert.assertEquals("changed", second.getDescription());
+            Assert.assertNotEquals(first, second);
+
+            //Names are compared by their IDs
+            Assert.assertEquals(new Argument("a", "arg").hashCode(), new Argument("a", "arg").hashCode());
+            Assert.assertTrue(new Argument("x", "arg").isKeyEquals(first));
+            Assert.assertTrue(new Argument("arg", null).isKeyEquals(first));
+            Assert.assertFalse(new Argument("x", "y").isKeyEquals(first));
+
+            //Names of undefined arguments are not interned, but compared by strings
+            int symbols = SymbolTable.size();
+            Argument undefined = new Argument(ArgumentDescriptor.undefined("descriptor-test-undefined"));
+            Assert.assertEquals(symbols, SymbolTable.size());
+            Assert.assertFalse(undefined.getDescriptor().isInterned());
+            Argument defined = new Argument("descriptor-test-undefined", null);
+            Assert.assertEquals(defined.getDescriptor(), undefined.getDescriptor());
+            Assert.assertEquals(defined.getDescriptor().hashCode(), undefined.getDescriptor().hashCode());
+            Assert.assertTrue(defined.isKeyEquals(undefined));
+            Assert.assertTrue(new Argument(ArgumentDescriptor.undefined("arg")).isKeyEquals(first));
+            Assert.assertFalse(new Argument(ArgumentDescriptor.undefined("y")).isKeyEquals(first));
+
+            //Absorbing takes the descriptor
+            first.absorb(second);
+            Assert.assertSame(second.getDescriptor(), first.getDescriptor());
+            Assert.assertEquals("details", first.getDescriptionDetailed());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package com.github.onlycrab.argParser.arguments;
+
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Test {@link ValueLayers}.
+ *
+ * @author Roman Rynkovich
+ */
+public class ValueLayersTest {
+    /**
+     * Test {@link ValueLayers#resolve(ArgumentStorage)}.
+     */
+    @Test
+    public void resolve() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argLevel = new Argument("l", "log-level");
+            Argument argOut = new Argument("o", "output");
+            Argument argThreads = new Argument("t", "threads").setValueDefault("4");
+            Argument argVerbose = new Argument("v", "verbose");
+            Argument argUser = new Argument("u", null);
+            storage.add(argLevel).add(argOut).add(argThreads).add(argVerbose).add(argUser);
+            storage.setEnvironmentPrefix("APP_");
+
+            Map<String, String> environment = new HashMap<>();
+            environment.put("APP_LOG_LEVEL", "debug");
+            environment.put("APP_OUTPUT", "env.txt");
+            environment.put("APP_VERBOSE", "true");
+            environment.put("PATH", "/bin");
+            Properties properties = new Properties();
+            properties.setProperty("output", "props.txt");
+            properties.setProperty("u", "admin");
+
+            ValueLayers layers = new ValueLayers()
+                    .setCommandLine(new String[]{"-o", "cli.txt", "-v"})
+                    .setEnvironment(environment)
+                    .setProperties(properties);
+            layers.resolve(storage);
+            Assert.assertEquals("cli.txt", argOut.getValue());
+            Assert.assertEquals(ValueSource.COMMAND_LINE, argOut.getValueSource());
+            Assert.assertEquals("debug", argLevel.getValue());
+            Assert.assertEquals(ValueSource.ENVIRONMENT, argLevel.getValueSource());
+            Assert.assertEquals("admin", argUser.getValue());
+            Assert.assertEquals(ValueSource.PROPERTIES, argUser.getValueSource());
+            Assert.assertEquals("4", argThreads.getValue());
+            Assert.assertEquals(ValueSource.DEFAULT, argThreads.getValueSource());
+            Assert.assertTrue(argVerbose.isDeclared());
+            Assert.assertFalse(argVerbose.isFilled());
+            Assert.assertEquals(ValueSource.COMMAND_LINE, argVerbose.getValueSource());
+            //Only the command line declares arguments
+            Assert.assertFalse(argLevel.isDeclared());
+            Assert.assertFalse(argThreads.isDeclared());
+            Assert.assertFalse(storage.isDefined("PATH"));
+
+            //Properties override the environment and the command line
+            storage.clearValues();
+            Assert.assertNull(argOut.getValueSource());
+            new ValueLayers(ValueSource.PROPERTIES, ValueSource.ENVIRONMENT, ValueSource.COMMAND_LINE)
+                    .setCommandLine(new String[]{"-o", "cli.txt"})
+                    .setEnvironment(environment)
+                    .setProperties(properties)
+                    .resolve(storage);
+            Assert.assertEquals("props.txt", argOut.getValue());
+            Assert.assertEquals(ValueSource.PROPERTIES, argOut.getValueSource());
+            Assert.assertFalse(argThreads.isDeclared());
+
+            try {
+                new ValueLayers(ValueSource.DEFAULT, ValueSource.DEFAULT);
+                Assert.fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ignore) {
+                //Duplicated source
+            }
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test requirements and conflicts of arguments resolved by {@link ValueLayers#resolve(ArgumentStorage)}.
+     */
+    @Test
+    public void resolveChecks() {
+        ArgumentStorage storage = new ArgumentStorage(false);
+        try {
+            Argument argA = new Argument("a", null).setValueDefault("1");
+            Argument argB = new Argument("b", null).setValueDefault("2");
+            Argument argRequired = new Argument("r", "required").setValueDefault("3").setRequiredBeDeclared(true);
+            storage.add(argA).add(argB).add(argRequired);
+            storage.addConflict("a", "b");
+
+            //Default values do not declare arguments and do not conflict
+            new ValueLayers().setCommandLine(new String[0]).resolve(storage);
+            Assert.assertEquals("1", argA.getValue());
+            Assert.assertFalse(storage.isDeclared("a"));
+            Assert.assertFalse(storage.isDeclared("b"));
+            Assert.assertFalse(storage.isConflict());
+            //A required argument is not satisfied by its default value
+            Assert.assertFalse(storage.isRequireFilled());
+
+            //A declared argument conflicts with a value from the environment
+            Map<String, String> environment = new HashMap<>();
+            environment.put("B", "env");
+            new ValueLayers().setCommandLine(new String[]{"-a", "-r"}).setEnvironment(environment).resolve(storage);
+            Assert.assertEquals(ValueSource.COMMAND_LINE, argA.getValueSource());
+            Assert.assertFalse(argA.isFilled());
+            Assert.assertEquals(ValueSource.ENVIRONMENT, argB.getValueSource());
+            Assert.assertFalse(argB.isDeclared());
+            Assert.assertTrue(storage.isConflict());
+            Assert.assertTrue(storage.isRequireFilled());
+
+            //Declarations of an earlier parse are not taken as the command line
+            ArgumentParser.parse(storage, new String[]{"-b", "cli"});
+            new ValueLayers().resolve(storage);
+            Assert.assertFalse(argB.isDeclared());
+            Assert.assertEquals("2", argB.getValue());
+            Assert.assertEquals(ValueSource.DEFAULT, argB.getValueSource());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.ArgumentStorage;
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test {@link Completer}.
+ *
+ * @author Roman Rynkovich
+ */
+public class CompleterTest {
+    /**
+     * Returns storage with arguments of all kinds of values.
+     *
+     * @return test storage
+     * @throws ArgumentException if an error occurs while creating a new argument
+     */
+    static ArgumentStorage create() throws ArgumentException {
+        ArgumentStorage storage = new ArgumentStorage();
+        storage.add(new Argument("v", "verbose", null, false, false, null, "Print more [details]", null));
+        storage.add(new Argument("m", "mode", null, false, false, "fast|slow|safe", "Mode: it's fast or slow", null));
+        storage.add(new Argument("i", "input", null, false, false, "FILE", "Input file", null));
+        storage.add(new Argument("o", "output", null, false, false, "DIR", "Output directory", null));
+        storage.add(new Argument("n", null, null, false, false, "NUMBER", "Count", null));
+        return storage;
+    }
+
+    /**
+     * Test {@link Completer#complete(String, String)}.
+     */
+    @Test
+    public void complete() {
+        try {
+            Completer completer = new Completer(create());
+            Assert.assertEquals(Arrays.asList("--mode"), completer.complete(null, "--m"));
+            Assert.assertEquals(Arrays.asList("--input", "--mode", "--output", "--verbose"), completer.complete("x", "--"));
+            Assert.assertEquals(9, completer.complete(null, "-").size());
+            Assert.assertEquals(Arrays.asList("safe", "slow"), completer.complete("--mode", "s"));
+            Assert.assertEquals(Arrays.asList("fast", "safe", "slow"), completer.complete("-m", null));
+            Assert.assertEquals(Collections.emptyList(), completer.complete("-i", "src"));
+            Assert.assertEquals(Collections.emptyList(), completer.complete(null, "value"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+        try {
+            new Completer(null);
+            Assert.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.ArgumentStorage;
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+
+/**
+ * Test {@link CompletionScript}.
+ *
+ * @author Roman Rynkovich
+ */
+public class CompletionScriptTest {
+    /**
+     * Test {@link CompletionScript#bash(ArgumentStorage, String)}.
+     */
+    @Test
+    public void bash() {
+        try {
+            String script = CompletionScript.bash(CompleterTest.create(), "my-tool");
+            Assert.assertTrue(script.contains("_my_tool_complete() {\n"));
+            Assert.assertTrue(script.contains("        -m|--mode)\n            COMPREPLY=($(compgen -W \"fast slow safe\" -- \"$cur\"))\n"));
+            Assert.assertTrue(script.contains("        -i|--input)\n            COMPREPLY=($(compgen -f -- \"$cur\"))\n"));
+            Assert.assertTrue(script.contains("        -o|--output)\n            COMPREPLY=($(compgen -d -- \"$cur\"))\n"));
+            Assert.assertFalse(script.contains("        -n)"));
+            Assert.assertTrue(script.contains("compgen -W \"-v --verbose -m --mode -i --input -o --output -n\" -- \"$cur\""));
+            Assert.assertTrue(script.endsWith("complete -o default -F _my_tool_complete my-tool\n"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+        try {
+            CompletionScript.bash(new ArgumentStorage(), "tool; rm -rf /");
+            Assert.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Test that argument names that are unsafe for shell scripts are rejected.
+     */
+    @Test
+    public void hostileNames() {
+        String[][] names = {{"x\"$(touch pwned)\"", null}, {"y", "it's"}, {"z", "a b"}, {"w)", null}};
+        for (String[] pair : names) {
+            ArgumentStorage storage = new ArgumentStorage();
+            try {
+                storage.add(new Argument(pair[0], pair[1]));
+            } catch (ArgumentException e) {
+                Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+            }
+            try {
+                CompletionScript.bash(storage, "tool");
+                Assert.fail("IllegalArgumentException expected : " + pair[0] + " " + pair[1]);
+            } catch (IllegalArgumentException ignored) {
+            }
+            try {
+                CompletionScript.zsh(storage, "tool");
+                Assert.fail("IllegalArgumentException expected : " + pair[0] + " " + pair[1]);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Test that value kinds do not depend on the default locale.
+     */
+    @Test
+    public void localeIndependent() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            ArgumentStorage storage = new ArgumentStorage();
+            storage.add(new Argument("i", "input", null, false, false, "file", null, null));
+            Assert.assertTrue(CompletionScript.bash(storage, "tool").contains("compgen -f -- \"$cur\""));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    /**
+     * Test {@link CompletionScript#zsh(ArgumentStorage, String)}.
+     */
+    @Test
+    public void zsh() {
+        try {
+            String script = CompletionScript.zsh(CompleterTest.create(), "tool");
+            Assert.assertTrue(script.startsWith("#compdef tool\n\n_arguments \\\n"));
+            Assert.assertTrue(script.contains("    '(-v --verbose)'{-v,--verbose}'[Print more \\[details\\]]' \\\n"));
+            Assert.assertTrue(script.contains("    '(-m --mode)'{-m,--mode}'[Mode\\: it'\\''s fast or slow]:fast|slow|safe:(fast slow safe)' \\\n"));
+            Assert.assertTrue(script.contains("'[Input file]:FILE:_files'"));
+            Assert.assertTrue(script.contains("'[Output directory]:DIR:_files -/'"));
+            Assert.assertTrue(script.contains("    '-n[Count]:NUMBER: ' \\\n"));
+            Assert.assertTrue(script.endsWith("    '*:value:_files'\n"));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link CompletionScript#bashClient(String, int)}.
+     */
+    @Test
+    public void bashClient() {
+        String script = CompletionScript.bashClient("tool", 7070);
+        Assert.assertTrue(script.contains("exec {fd}<>/dev/tcp/127.0.0.1/7070 2>/dev/null || return 0\n"));
+        Assert.assertTrue(script.endsWith("complete -o default -F _tool_complete tool\n"));
+        try {
+            CompletionScript.bashClient("tool", 0);
+            Assert.fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.onlycrab.argParser.arguments.completion;
+
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test {@link CompletionService}.
+ *
+ * @author Roman Rynkovich
+ */
+public class CompletionServiceTest {
+    /**
+     * Test {@link CompletionService#start(int)} and queries.
+     */
+    @Test
+    public void start() {
+        try (CompletionService service = new CompletionService(new Completer(CompleterTest.create()))) {
+            Assert.assertEquals(-1, service.getPort());
+            int port = service.start(0);
+            Assert.assertEquals(port, service.getPort());
+            try {
+                service.start(0);
+                Assert.fail("IllegalStateException expected");
+            } catch (IllegalStateException ignored) {
+            }
+
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                OutputStream out = socket.getOutputStream();
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                out.write("tool\t--o\n--mode\tf\nvalue\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Assert.assertEquals("--output", in.readLine());
+                Assert.assertEquals("", in.readLine());
+                Assert.assertEquals("fast", in.readLine());
+                Assert.assertEquals("", in.readLine());
+                Assert.assertEquals("", in.readLine());
+            }
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test that a slow client or a failing completer does not stop the service.
+     */
+    @Test
+    public void slowAndFailingClients() {
+        try {
+            Completer completer = new Completer(CompleterTest.create()) {
+                @Override
+                public List<String> complete(String previous, String current) {
+                    if ("fail".equals(current)) {
+                        throw new IllegalStateException(current);
+                    }
+                    return super.complete(previous, current);
+                }
+            };
+            try (CompletionService service = new CompletionService(completer)) {
+                int port = service.start(0);
+
+                //A client that sends a query slowly does not block other clients
+                try (Socket slow = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                    slow.getOutputStream().write('-');
+                    slow.getOutputStream().flush();
+                    Assert.assertEquals("--output", query(port, "--o"));
+                }
+
+                //A failing query drops its connection only
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                    socket.setSoTimeout(CompletionService.DEADLINE);
+                    socket.getOutputStream().write("fail\n".getBytes(StandardCharsets.UTF_8));
+                    socket.getOutputStream().flush();
+                    Assert.assertEquals(-1, socket.getInputStream().read());
+                }
+                Assert.assertEquals("--output", query(port, "--o"));
+            }
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Send one query and returns the first completion.
+     *
+     * @param port port of the service
+     * @param word word to complete
+     * @return the first completion
+     * @throws IOException if an I/O error occurs
+     */
+    private static String query(int port, String word) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setSoTimeout(CompletionService.TIMEOUT);
+            socket.getOutputStream().write((word + "\n").getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+        }
+    }
+}
@@ -404,4 +404,46 @@ public class ValueConverterTest {
             Assert.fail("Unexpected ConverterException : " + e.getMessage());
         }
     }
+
+    /**
+     * Test {@link ValueConverter#ofValues(String[])}.
+     */
+    @Test
+    public void valueConverterMultiple() {
+        try {
+            ValueConverter converter = ValueConverter.ofValues(new String[]{"1", "2,3", "4"});
+            Assert.assertArrayEquals(new String[]{"1", "2,3", "4"}, converter.toArray());
+            Assert.assertEquals(4, converter.toInt());
+            try {
+                converter.toArrayInt();
+                Assert.fail("Expected ConverterException");
+            } catch (ConverterException ignore) {
+                //Values are not split by delimiter
+            }
+
+            converter = ValueConverter.ofValues(new String[]{"10", "ff"});
+            Assert.assertArrayEquals(new int[]{16, 255}, converter.toArrayInt(16));
+
+            converter = ValueConverter.ofValues(new String[]{"pos", "neg"}, new String[]{"pos"}, new String[]{"neg"});
+            Assert.assertArrayEquals(new boolean[]{true, false}, converter.toArrayBoolean());
+
+            converter = ValueConverter.ofValues(new String[0]);
+            Assert.assertEquals(0, converter.toArray().length);
+
+            converter = ValueConverter.ofValues(null);
+            Assert.assertEquals(0, converter.toArray().length);
+
+            //Single value constructors with null value are not ambiguous
+            for (ValueConverter nullConverter : new ValueConverter[]{new ValueConverter(null),
+                    new ValueConverter(null, new String[]{"pos"}, new String[]{"neg"})}) {
+                try {
+                    nullConverter.toBoolean();
+                    Assert.fail("Expected ConverterException");
+                } catch (ConverterException ignore) {
+                }
+            }
+        } catch (ConverterException e) {
+            Assert.fail("Unexpected ConverterException : " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package com.github.onlycrab.argParser.arguments.dependencies;
+
+import com.github.onlycrab.argParser.arguments.Argument;
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test {@link ConsistencyAnalyzer}.
+ *
+ * @author Roman Rynkovich
+ */
+public class ConsistencyAnalyzerTest {
+    /**
+     * Test {@link ConsistencyAnalyzer#isSatisfiable()}.
+     */
+    @Test
+    public void isSatisfiable() {
+        try {
+            Argument arg1 = new Argument("arg1", "argument1").setRequiredBeDeclared(true);
+            Argument arg2 = new Argument("arg2", "argument2");
+            Argument arg3 = new Argument("arg3", "argument3").setRequiredBeDeclared(true);
+            List<Argument> arguments = Arrays.asList(arg1, arg2, arg3);
+            Requirements req = new Requirements();
+            Conflicts conf = new Conflicts();
+
+            Assert.assertTrue(new ConsistencyAnalyzer(arguments, req, conf).isSatisfiable());
+
+            //Required argument depends on argument that conflicts with another required argument
+            req.addRequirement(arg1, arg2);
+            Assert.assertTrue(new ConsistencyAnalyzer(arguments, req, conf).isSatisfiable());
+            conf.addConflict(arg2, arg3);
+            Assert.assertFalse(new ConsistencyAnalyzer(arguments, req, conf).isSatisfiable());
+
+            //Two required arguments in conflict
+            req.clear();
+            conf.clear();
+            conf.addConflict(arg1, arg3);
+            ReturnedBoolean result = new ConsistencyAnalyzer(arguments, req, conf).analyze();
+            Assert.assertFalse(result.getResult());
+            Assert.assertTrue(result.getMessage().contains(arg1.getName()));
+            Assert.assertTrue(result.getMessage().contains(arg3.getName()));
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ConsistencyAnalyzer#getDeadArguments()}.
+     */
+    @Test
+    public void getDeadArguments() {
+        try {
+            Argument arg1 = new Argument("arg1", "argument1").setRequiredBeDeclared(true);
+            Argument arg2 = new Argument("arg2", "argument2");
+            Argument arg3 = new Argument("arg3", "argument3");
+            Argument arg4 = new Argument("arg4", "argument4");
+            List<Argument> arguments = Arrays.asList(arg1, arg2, arg3, arg4);
+            Requirements req = new Requirements();
+            Conflicts conf = new Conflicts();
+
+            //arg4 -> arg3 -> arg2, arg2 conflicts with required arg1
+            req.addRequirement(arg4, arg3);
+            req.addRequirement(arg3, arg2);
+            conf.addConflict(arg2, arg1);
+            ConsistencyAnalyzer analyzer = new ConsistencyAnalyzer(arguments, req, conf);
+            Assert.assertTrue(analyzer.isSatisfiable());
+            Assert.assertEquals(Arrays.asList(arg2, arg3, arg4), analyzer.getDeadArguments());
+            Assert.assertFalse(analyzer.analyze().getResult());
+
+            conf.clear();
+            analyzer = new ConsistencyAnalyzer(arguments, req, conf);
+            Assert.assertEquals(Collections.emptyList(), analyzer.getDeadArguments());
+            Assert.assertTrue(analyzer.analyze().getResult());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ConsistencyAnalyzer} with a large specification.
+     */
+    @Test
+    public void largeSpecification() {
+        try {
+            List<Argument> arguments = new ArrayList<>();
+            Requirements req = new Requirements();
+            Conflicts conf = new Conflicts();
+            for (int i = 0; i < 5000; i++) {
+                arguments.add(new Argument("a" + i, "argument" + i));
+                if (i > 0) {
+                    req.addRequirement(arguments.get(i), arguments.get(i - 1));
+                }
+            }
+            //Every argument from a2 depends on a2 and a1, but a2 conflicts with a1
+            conf.addConflict(arguments.get(2), arguments.get(1));
+            ConsistencyAnalyzer analyzer = new ConsistencyAnalyzer(arguments, req, conf);
+            Assert.assertTrue(analyzer.isSatisfiable());
+            Assert.assertEquals(4998, analyzer.getDeadArguments().size());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test {@link BkTree}.
+ *
+ * @author Roman Rynkovich
+ */
+public class BkTreeTest {
+    /**
+     * Test {@link BkTree#distance(String, String)}.
+     */
+    @Test
+    public void distance() {
+        Assert.assertEquals(0, BkTree.distance("verbose", "verbose"));
+        Assert.assertEquals(2, BkTree.distance("verbose", "verbsoe"));
+        Assert.assertEquals(3, BkTree.distance("kitten", "sitting"));
+        Assert.assertEquals(4, BkTree.distance("", "help"));
+    }
+
+    /**
+     * Test {@link BkTree#search(String, int)}.
+     */
+    @Test
+    public void search() {
+        BkTree tree = new BkTree();
+        for (String word : new String[]{"help", "hello", "shell", "output", "input", "help"}) {
+            tree.add(word);
+        }
+        Assert.assertEquals(5, tree.size());
+        Assert.assertEquals(Arrays.asList("hello", "help"), tree.search("helo", 1));
+        Assert.assertEquals(Arrays.asList("hello", "help", "shell"), tree.search("hepl", 2));
+        Assert.assertEquals(Arrays.asList("output"), tree.search("outpt", 2));
+        Assert.assertTrue(tree.search("xyz", 1).isEmpty());
+        Assert.assertTrue(new BkTree().search("help", 3).isEmpty());
+    }
+}
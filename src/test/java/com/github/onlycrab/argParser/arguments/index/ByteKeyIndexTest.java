@@ -0,0 +1,36 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test {@link ByteKeyIndex}.
+ *
+ * @author Roman Rynkovich
+ */
+public class ByteKeyIndexTest {
+    /**
+     * Test {@link ByteKeyIndex#put(String, Object)} and {@link ByteKeyIndex#get(ByteBuffer, int, int)}.
+     */
+    @Test
+    public void putGet() {
+        ByteKeyIndex<Integer> index = new ByteKeyIndex<>(1);
+        for (int i = 0; i < 1000; i++) {
+            index.put("key" + i, i);
+        }
+        index.put("ключ", -1);
+        index.put("key7", 7000);
+        index.put(null, 0);
+        Assert.assertEquals(1001, index.size());
+
+        ByteBuffer bytes = ByteBuffer.wrap("--key7 key999 ключ key".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Integer.valueOf(7000), index.get(bytes, 2, 4));
+        Assert.assertEquals(Integer.valueOf(999), index.get(bytes, 7, 6));
+        Assert.assertEquals(Integer.valueOf(-1), index.get(bytes, 14, 8));
+        Assert.assertNull(index.get(bytes, 23, 3));
+        Assert.assertNull(index.get(bytes, 0, 0));
+    }
+}
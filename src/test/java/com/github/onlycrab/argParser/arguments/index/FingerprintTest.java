@@ -0,0 +1,31 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test {@link Fingerprint}.
+ *
+ * @author Roman Rynkovich
+ */
+public class FingerprintTest {
+    /**
+     * Test {@link Fingerprint#then(String)}, {@link Fingerprint#then(boolean)} and {@link Fingerprint#plus(Fingerprint)}.
+     */
+    @Test
+    public void then() {
+        Fingerprint ab = Fingerprint.EMPTY.then("a").then("b");
+        Assert.assertEquals(ab, Fingerprint.EMPTY.then("a").then("b"));
+        Assert.assertNotEquals(ab, Fingerprint.EMPTY.then("b").then("a"));
+        Assert.assertNotEquals(ab, Fingerprint.EMPTY.then("ab"));
+        Assert.assertNotEquals(Fingerprint.EMPTY.then((String) null), Fingerprint.EMPTY.then(""));
+        Assert.assertNotEquals(Fingerprint.EMPTY.then(true), Fingerprint.EMPTY.then(false));
+        Assert.assertNotEquals(Fingerprint.EMPTY.then(ab).then(Fingerprint.EMPTY), Fingerprint.EMPTY.then(Fingerprint.EMPTY).then(ab));
+
+        Fingerprint a = Fingerprint.EMPTY.then("a");
+        Fingerprint b = Fingerprint.EMPTY.then("b");
+        Assert.assertEquals(a.plus(b), b.plus(a));
+        Assert.assertEquals(a, Fingerprint.ZERO.plus(a));
+        Assert.assertEquals(32, ab.toString().length());
+    }
+}
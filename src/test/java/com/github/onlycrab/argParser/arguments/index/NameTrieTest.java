@@ -0,0 +1,47 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test {@link NameTrie}.
+ *
+ * @author Roman Rynkovich
+ */
+public class NameTrieTest {
+    /**
+     * Test {@link NameTrie#resolve(CharSequence)}, {@link NameTrie#complete(CharSequence)} and {@link NameTrie#count(CharSequence)}.
+     */
+    @Test
+    public void resolve() {
+        NameTrie trie = new NameTrie();
+        trie.add("verbose");
+        trie.add("verbatim");
+        trie.add("version");
+        trie.add("out");
+        trie.add("output");
+        trie.add("verbose");
+        trie.add(null);
+        Assert.assertEquals(5, trie.size());
+
+        Assert.assertEquals("version", trie.resolve("vers"));
+        Assert.assertEquals("verbose", trie.resolve("verbo"));
+        Assert.assertEquals("verbose", trie.resolve("verbose"));
+        Assert.assertNull(trie.resolve("verb"));
+        Assert.assertNull(trie.resolve("verbosely"));
+        Assert.assertNull(trie.resolve("x"));
+        Assert.assertNull(trie.resolve(null));
+        //Exact name wins over longer names
+        Assert.assertEquals("out", trie.resolve("out"));
+        Assert.assertEquals("output", trie.resolve("outp"));
+
+        Assert.assertEquals(Arrays.asList("verbatim", "verbose", "version"), trie.complete("ver"));
+        Assert.assertEquals(Arrays.asList("out", "output", "verbatim", "verbose", "version"), trie.complete(""));
+        Assert.assertEquals(Collections.emptyList(), trie.complete("z"));
+        Assert.assertEquals(2, trie.count("verb"));
+        Assert.assertEquals(0, trie.count("z"));
+    }
+}
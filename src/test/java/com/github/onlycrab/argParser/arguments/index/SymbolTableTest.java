@@ -0,0 +1,26 @@
+package com.github.onlycrab.argParser.arguments.index;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test {@link SymbolTable}.
+ *
+ * @author Roman Rynkovich
+ */
+public class SymbolTableTest {
+    /**
+     * Test {@link SymbolTable#intern(String)} and {@link SymbolTable#find(String)}.
+     */
+    @Test
+    public void intern() {
+        int id = SymbolTable.intern("symbol-table-test");
+        Assert.assertTrue(id >= 0);
+        Assert.assertEquals(id, SymbolTable.intern(new String("symbol-table-test".toCharArray())));
+        Assert.assertEquals(id, SymbolTable.find("symbol-table-test"));
+        Assert.assertNotEquals(id, SymbolTable.intern("symbol-table-test2"));
+        Assert.assertEquals(SymbolTable.NONE, SymbolTable.find("symbol-table-missing"));
+        Assert.assertEquals(SymbolTable.NONE, SymbolTable.intern(null));
+        Assert.assertEquals(SymbolTable.NONE, SymbolTable.find(null));
+    }
+}
@@ -18,6 +18,7 @@ public class ValidatorTest {
     private static final String invalidData = "test/ArgumentTestValidator2.xml";
     private static final String dependenciesData = "test/ArgumentTestValidator3.xml";
     private static final String emptyData = "test/ArgumentTestValidator4.xml";
+    private static final String multiValuedData = "test/ArgumentTestXmlMultiValued.xml";
     private static final String nonExistentData = "test/ArgumentTestValidator5.xml";
 
     /**
@@ -52,6 +53,14 @@ public class ValidatorTest {
             Assert.fail(validator.getMessage());
         }
 
+        /*Multi-valued arguments*/
+        if (!validator.validate(
+                new StreamSource(loader.getResourceAsStream(validSchema)),
+                new StreamSource(loader.getResourceAsStream(multiValuedData))
+        )) {
+            Assert.fail(validator.getMessage());
+        }
+
         /*Data is not valid */
         if (validator.validate(
                 new StreamSource(loader.getResourceAsStream(validSchema)),
@@ -125,6 +125,8 @@ public class XmlParserTest {
             arg.put("longName", "argument-test4");
             arg.put("isRequiredDeclared", "false");
             arg.put("isRequiredFilled", "false");
+            arg.put("isMultiValued", "true");
+            arg.put("environment", "ARGUMENT_TEST4");
             args.add(arg);
 
             return args;
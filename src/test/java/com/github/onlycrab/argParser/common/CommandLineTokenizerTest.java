@@ -0,0 +1,64 @@
+package com.github.onlycrab.argParser.common;
+
+import com.github.onlycrab.argParser.arguments.exceptions.ArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test {@link CommandLineTokenizer}.
+ *
+ * @author Roman Rynkovich
+ */
+public class CommandLineTokenizerTest {
+    /**
+     * Test {@link CommandLineTokenizer#split(CharSequence)}.
+     */
+    @Test
+    public void split() {
+        try {
+            Assert.assertArrayEquals(new String[]{"-a", "value", "--long"}, CommandLineTokenizer.split("  -a\tvalue \n --long "));
+            Assert.assertArrayEquals(new String[]{"one two", "it's", ""}, CommandLineTokenizer.split("'one two' \"it's\" ''"));
+            Assert.assertArrayEquals(new String[]{"$x\"y\\z", "a\\b"}, CommandLineTokenizer.split("\"\\$x\\\"y\\\\z\" \"a\\b\""));
+            Assert.assertArrayEquals(new String[]{"a b", "cd", "x'y"}, CommandLineTokenizer.split("a\\ b c\\\nd x\\'y"));
+            Assert.assertArrayEquals(new String[]{"pre'quoted'post"}, CommandLineTokenizer.split("pre\"'quoted'\"post"));
+            Assert.assertEquals(0, CommandLineTokenizer.split("   ").length);
+            Assert.assertEquals(0, CommandLineTokenizer.split(null).length);
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+        try {
+            CommandLineTokenizer.split("-a \"unclosed");
+            Assert.fail("Expected ArgumentException");
+        } catch (ArgumentException e) {
+            Assert.assertEquals("Unclosed double quote at position 3.", e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link CommandLineTokenizer#next()} offsets and views.
+     */
+    @Test
+    public void next() {
+        try {
+            String line = "--name 'quoted value' plain";
+            CommandLineTokenizer tokenizer = new CommandLineTokenizer(line);
+            Assert.assertTrue(tokenizer.next());
+            Assert.assertEquals(0, tokenizer.getStart());
+            Assert.assertEquals(6, tokenizer.getEnd());
+            Assert.assertTrue(tokenizer.isPlain());
+            Assert.assertEquals("--name", tokenizer.getToken().toString());
+
+            Assert.assertTrue(tokenizer.next());
+            Assert.assertEquals(7, tokenizer.getStart());
+            Assert.assertEquals(21, tokenizer.getEnd());
+            Assert.assertFalse(tokenizer.isPlain());
+            Assert.assertEquals("quoted value", tokenizer.getToken());
+
+            Assert.assertTrue(tokenizer.next());
+            Assert.assertEquals("plain", tokenizer.getValue());
+            Assert.assertFalse(tokenizer.next());
+        } catch (ArgumentException e) {
+            Assert.fail("Unexpected ArgumentException : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.onlycrab.argParser.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Test {@link ExternalReader}.
+ *
+ * @author Roman Rynkovich
+ */
+public class ExternalReaderTest {
+    /**
+     * Test {@link ExternalReader#readStream(java.io.InputStream)}.
+     */
+    @Test
+    public void readStream() {
+        try {
+            Assert.assertEquals("a\nb\n\nc\n", ExternalReader.readStream(new ByteArrayInputStream("a\r\nb\r\rc".getBytes())));
+            Assert.assertEquals("\n", ExternalReader.readStream(new ByteArrayInputStream("\n".getBytes())));
+            Assert.assertEquals("", ExternalReader.readStream(new ByteArrayInputStream(new byte[0])));
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Test {@link ExternalReader#readFile(String)} and {@link ExternalReader#openMapped(String, java.nio.charset.Charset)}.
+     */
+    @Test
+    public void readFile() {
+        File file = null;
+        try {
+            file = File.createTempFile("external", ".txt");
+            Files.write(file.toPath(), "first\r\nсекунда".getBytes(StandardCharsets.UTF_8));
+            try (Reader reader = ExternalReader.openMapped(file.getAbsolutePath(), StandardCharsets.UTF_8)) {
+                char[] buffer = new char[64];
+                int count = reader.read(buffer);
+                Assert.assertEquals("first\r\nсекунда", new String(buffer, 0, count));
+                Assert.assertEquals(-1, reader.read(buffer));
+            }
+            Assert.assertEquals("first\n", ExternalReader.readFile(file.getAbsolutePath()).substring(0, 6));
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+        try {
+            ExternalReader.readFile(new File("not-exists.txt").getAbsolutePath());
+            Assert.fail("Expected IOException");
+        } catch (IOException ignored) {
+        }
+    }
+}
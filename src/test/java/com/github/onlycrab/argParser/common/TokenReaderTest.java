@@ -0,0 +1,63 @@
+package com.github.onlycrab.argParser.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test {@link TokenReader}.
+ *
+ * @author Roman Rynkovich
+ */
+public class TokenReaderTest {
+    /**
+     * Read all tokens of the text.
+     *
+     * @param text text to tokenize
+     * @return tokens of the text
+     * @throws IOException if a quote is not closed
+     */
+    private static List<String> tokenize(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        try (TokenReader reader = new TokenReader(new StringReader(text))) {
+            String token;
+            while ((token = reader.next()) != null) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Test {@link TokenReader#next()}.
+     */
+    @Test
+    public void next() {
+        try {
+            Assert.assertEquals(Arrays.asList("-a", "value", "--long"), tokenize("  -a\tvalue\r\n--long\n"));
+            Assert.assertEquals(Arrays.asList("one two", "it's", ""), tokenize("'one two' \"it's\" ''"));
+            Assert.assertEquals(Arrays.asList("a\"b\\c", "d\\e"), tokenize("\"a\\\"b\\\\c\" \"d\\e\""));
+            Assert.assertEquals(Arrays.asList("a b", "cd"), tokenize("a\\ b c\\\nd"));
+            Assert.assertEquals(Arrays.asList("-a", "x#y"), tokenize("# comment\n-a # another\nx#y"));
+            Assert.assertTrue(tokenize("").isEmpty());
+
+            //Tokens longer than the read buffer
+            char[] chars = new char[20000];
+            Arrays.fill(chars, 'x');
+            String longToken = new String(chars);
+            Assert.assertEquals(Arrays.asList(longToken, "end"), tokenize(longToken + " end"));
+        } catch (IOException e) {
+            Assert.fail("Unexpected IOException : " + e.getMessage());
+        }
+        try {
+            tokenize("'unclosed");
+            Assert.fail("Expected IOException");
+        } catch (IOException ignored) {
+        }
+    }
+}